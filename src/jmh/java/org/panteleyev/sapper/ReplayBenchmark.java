@@ -0,0 +1,299 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import org.panteleyev.sapper.game.GameStatus;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.panteleyev.sapper.GlobalContext.files;
+import static org.panteleyev.sapper.XMLUtils.appendElement;
+import static org.panteleyev.sapper.XMLUtils.createDocument;
+import static org.panteleyev.sapper.XMLUtils.writeDocument;
+
+/**
+ * Replays recorded sessions against the game window and reports frame times, pulse durations, allocation and game
+ * time of each session. Sessions are recorded by {@link SessionRecording}.
+ * <p>
+ * Sessions are played by {@link SessionPlayer}. Game time is measured from the first click to the moment results
+ * of the last one are applied. Pulse duration covers animation
+ * timers, CSS and layout, rendering runs on the render thread and is not included. Allocation is counted for all
+ * threads.
+ * <p>
+ * Every session is replayed {@code replay.warmup} times before {@code replay.iterations} measured replays. The report
+ * is an XML file, one element per session.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@replay
+ * </pre>
+ * Arguments: report file followed by session files or directories with session files.
+ */
+public final class ReplayBenchmark {
+    private static final int WARMUP = Integer.getInteger("replay.warmup", 2);
+    private static final int ITERATIONS = Integer.getInteger("replay.iterations", 5);
+    // Pulses for the window to settle after a new game is started
+    private static final int SETTLE_PULSES = 10;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private record Result(
+            String name,
+            Session session,
+            GameStatus status,
+            LatencyHistogram gameTime,
+            LatencyHistogram frameTime,
+            LatencyHistogram pulseDuration,
+            long allocatedBytes)
+    {
+    }
+
+    private ReplayBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplayBenchmark <report> <session>...");
+            System.exit(1);
+        }
+
+        var sessions = new LinkedHashMap<String, Session>();
+        for (int i = 1; i < args.length; i++) {
+            for (var file : sessionFiles(Path.of(args[i]))) {
+                try (var in = Files.newInputStream(file)) {
+                    sessions.put(file.getFileName().toString(), Session.read(in));
+                }
+            }
+        }
+
+        files().initialize().throwIfFailure();
+
+        var done = new CompletableFuture<List<Result>>();
+        Platform.startup(() -> {
+            try {
+                new Replay(sessions, done).start();
+            } catch (RuntimeException ex) {
+                done.completeExceptionally(ex);
+            }
+        });
+
+        List<Result> results;
+        try {
+            results = done.get();
+        } finally {
+            Platform.exit();
+        }
+
+        var report = Path.of(args[0]);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        try (var out = Files.newOutputStream(report)) {
+            writeReport(results, out);
+        }
+        results.forEach(ReplayBenchmark::printSummary);
+        System.out.println("Report: " + report.toAbsolutePath());
+    }
+
+    private static List<Path> sessionFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".xml"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Drives the window on the FX application thread.
+     */
+    private static final class Replay {
+        private final Stage stage = new Stage();
+        private final SapperWindowController controller = new SapperWindowController(stage);
+        private final SessionPlayer player = new SessionPlayer(controller);
+
+        private final Iterator<Map.Entry<String, Session>> sessions;
+        private final CompletableFuture<List<Result>> done;
+        private final List<Result> results = new ArrayList<>();
+
+        private String name;
+        private Session session;
+        private int iteration;
+        private int settlePulses;
+        private boolean inGame;
+
+        private long lastPulse;
+        private long pulseStart;
+        private long gameStart;
+        private long allocatedAtStart;
+        private long allocatedBytes;
+
+        private LatencyHistogram gameTime;
+        private LatencyHistogram frameTime;
+        private LatencyHistogram pulseDuration;
+
+        private final AnimationTimer pulseTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+
+        Replay(Map<String, Session> sessions, CompletableFuture<List<Result>> done) {
+            this.sessions = sessions.entrySet().iterator();
+            this.done = done;
+            stage.getScene().addPostLayoutPulseListener(this::onPostLayout);
+        }
+
+        void start() {
+            stage.show();
+            nextSession();
+            pulseTimer.start();
+        }
+
+        private void nextSession() {
+            if (!sessions.hasNext()) {
+                pulseTimer.stop();
+                done.complete(results);
+                return;
+            }
+
+            var entry = sessions.next();
+            name = entry.getKey();
+            session = entry.getValue();
+            iteration = 0;
+            gameTime = new LatencyHistogram();
+            frameTime = new LatencyHistogram();
+            pulseDuration = new LatencyHistogram();
+            allocatedBytes = 0;
+            newGame();
+        }
+
+        private void newGame() {
+            controller.newGame(session.boardSize(), session.seed());
+            settlePulses = SETTLE_PULSES;
+        }
+
+        private boolean isMeasured() {
+            return iteration >= WARMUP;
+        }
+
+        private void onPulse(long now) {
+            if (inGame && isMeasured()) {
+                frameTime.record(now - lastPulse);
+            }
+            lastPulse = now;
+            pulseStart = now;
+
+            if (settlePulses == 0 || --settlePulses > 0) return;
+
+            inGame = true;
+            allocatedAtStart = allocatedBytes();
+            gameStart = System.nanoTime();
+            player.play(session).thenAccept(this::onGameFinished);
+        }
+
+        private void onPostLayout() {
+            if (inGame && isMeasured()) {
+                pulseDuration.record(System.nanoTime() - pulseStart);
+            }
+        }
+
+        private void onGameFinished(GameStatus status) {
+            inGame = false;
+            if (isMeasured()) {
+                gameTime.record(System.nanoTime() - gameStart);
+                allocatedBytes += allocatedBytes() - allocatedAtStart;
+            }
+
+            if (++iteration < WARMUP + ITERATIONS) {
+                newGame();
+            } else {
+                results.add(new Result(name, session, status, gameTime, frameTime, pulseDuration,
+                        allocatedBytes / ITERATIONS));
+                nextSession();
+            }
+        }
+
+        private static long allocatedBytes() {
+            var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            return threads.getTotalThreadAllocatedBytes();
+        }
+    }
+
+    private static void writeReport(List<Result> results, OutputStream out) {
+        var root = createDocument("ReplayReport");
+        root.setAttribute("java", System.getProperty("java.version"));
+        root.setAttribute("javafx", System.getProperty("javafx.runtime.version", ""));
+        root.setAttribute("warmup", Integer.toString(WARMUP));
+        root.setAttribute("iterations", Integer.toString(ITERATIONS));
+
+        for (var result : results) {
+            var boardSize = result.session().boardSize();
+            var element = appendElement(root, "Session");
+            element.setAttribute("name", result.name());
+            element.setAttribute("width", Integer.toString(boardSize.width()));
+            element.setAttribute("height", Integer.toString(boardSize.height()));
+            element.setAttribute("mines", Integer.toString(boardSize.mines()));
+            element.setAttribute("clicks", Integer.toString(result.session().clicks().size()));
+            element.setAttribute("expected", result.session().result().name());
+            element.setAttribute("result", result.status().name());
+
+            appendHistogram(element, "GameTime", result.gameTime());
+            appendHistogram(element, "FrameTime", result.frameTime());
+            appendHistogram(element, "PulseDuration", result.pulseDuration());
+
+            var allocation = appendElement(element, "Allocation");
+            allocation.setAttribute("bytesPerGame", Long.toString(result.allocatedBytes()));
+            allocation.setAttribute("megabytesPerSecond", decimal(bytesPerMicro(result)));
+        }
+
+        writeDocument(root.getOwnerDocument(), out);
+    }
+
+    private static void appendHistogram(Element parent, String name, LatencyHistogram histogram) {
+        var element = appendElement(parent, name);
+        element.setAttribute("count", Long.toString(histogram.getCount()));
+        element.setAttribute("meanMillis", decimal(histogram.getMean() / NANOS_PER_MILLI));
+        element.setAttribute("p50Millis", decimal(histogram.getValueAtPercentile(50) / NANOS_PER_MILLI));
+        element.setAttribute("p99Millis", decimal(histogram.getValueAtPercentile(99) / NANOS_PER_MILLI));
+        element.setAttribute("maxMillis", decimal(histogram.getMax() / NANOS_PER_MILLI));
+    }
+
+    /**
+     * Bytes per microsecond of game time is the same as megabytes per second.
+     */
+    private static double bytesPerMicro(Result result) {
+        var micros = result.gameTime().getMean() / 1000.0;
+        return micros == 0 ? 0 : result.allocatedBytes() / micros;
+    }
+
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static void printSummary(Result result) {
+        System.out.printf(Locale.ROOT, "%-32s %-8s game %9.1f ms  frame p99 %6.2f ms  pulse p99 %6.2f ms  %8.1f MB/s%n",
+                result.name(),
+                result.status(),
+                result.gameTime().getMean() / NANOS_PER_MILLI,
+                result.frameTime().getValueAtPercentile(99) / NANOS_PER_MILLI,
+                result.pulseDuration().getValueAtPercentile(99) / NANOS_PER_MILLI,
+                bytesPerMicro(result));
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.scene.input.MouseButton;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records finished games as {@link Session} files for the replay benchmark, a file is written when a game is won or
+ * lost. Installed by {@link SessionRecording}.
+ * <p>
+ * Must be used from the FX application thread.
+ */
+final class SessionRecorder implements GameListener {
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+
+    private BoardSize boardSize;
+    private long seed;
+    private final List<Session.Click> clicks = new ArrayList<>();
+
+    SessionRecorder(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void gameStarted(BoardSize boardSize, long seed) {
+        this.boardSize = boardSize;
+        this.seed = seed;
+        clicks.clear();
+    }
+
+    @Override
+    public void cellClicked(int cell, MouseButton button) {
+        clicks.add(new Session.Click(cell, button));
+    }
+
+    @Override
+    public void gameFinished(GameStatus result) {
+        if (clicks.isEmpty()) return;
+
+        var session = new Session(boardSize, seed, clicks, result);
+        var fileName = boardSize.width() + "x" + boardSize.height() + "-"
+                + LocalDateTime.now().format(FILE_NAME_FORMAT) + ".xml";
+        try {
+            Files.createDirectories(directory);
+            try (var out = Files.newOutputStream(directory.resolve(fileName))) {
+                session.write(out);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        clicks.clear();
+    }
+}
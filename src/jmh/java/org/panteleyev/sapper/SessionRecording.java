@@ -0,0 +1,32 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.stage.Stage;
+
+import java.nio.file.Path;
+
+/**
+ * Starts the application with {@link SessionRecorder} installed, games played in the window are recorded for
+ * {@link ReplayBenchmark}.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@record
+ * </pre>
+ * Argument: directory receiving session files.
+ */
+public final class SessionRecording extends SapperApplication {
+    @Override
+    public void start(Stage stage) {
+        var arguments = getParameters().getRaw();
+        if (arguments.isEmpty()) {
+            throw new IllegalArgumentException("Usage: SessionRecording <directory>");
+        }
+
+        super.start(stage);
+        getController().setGameListener(new SessionRecorder(Path.of(arguments.getFirst())));
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
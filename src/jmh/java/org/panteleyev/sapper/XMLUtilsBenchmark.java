@@ -0,0 +1,78 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.panteleyev.sapper.XMLUtils.appendElement;
+import static org.panteleyev.sapper.XMLUtils.createDocument;
+import static org.panteleyev.sapper.XMLUtils.getAttribute;
+import static org.panteleyev.sapper.XMLUtils.readDocument;
+import static org.panteleyev.sapper.XMLUtils.writeDocument;
+
+/**
+ * Document round trips with elements shaped like scoreboard records.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=XMLUtilsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLUtilsBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int elements;
+
+    private byte[] document;
+
+    @Setup
+    public void setup() {
+        document = write();
+    }
+
+    @Benchmark
+    public byte[] write() {
+        var root = createDocument("Root");
+        for (int i = 0; i < elements; i++) {
+            var element = appendElement(root, "Element");
+            element.setAttribute("width", Integer.toString(i));
+            element.setAttribute("height", Integer.toString(i));
+            element.setAttribute("value", Integer.toString(i));
+        }
+
+        var out = new ByteArrayOutputStream();
+        writeDocument(root.getOwnerDocument(), out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public long read() {
+        var root = readDocument(new ByteArrayInputStream(document));
+        var nodes = root.getElementsByTagName("Element");
+        var sum = 0L;
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i) instanceof Element e) {
+                sum += getAttribute(e, "value", 0);
+            }
+        }
+        return sum;
+    }
+}
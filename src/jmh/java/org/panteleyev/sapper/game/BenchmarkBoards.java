@@ -0,0 +1,53 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+/**
+ * Board sizes used as benchmark parameters: standard presets and large custom sizes.
+ */
+final class BenchmarkBoards {
+    /**
+     * Mine density of {@link BoardSize#BIG}, used for custom sizes when preset density is requested.
+     */
+    private static final double PRESET_DENSITY = (double) BoardSize.BIG.mines() / BoardSize.BIG.cells();
+
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * Parses board size parameter.
+     *
+     * @param size    preset name or {@code <width>x<height>}
+     * @param density {@code preset} or share of mines, the number of mines is limited by {@link BoardSize#maxMines}
+     */
+    static BoardSize boardSize(String size, String density) {
+        var preset = switch (size) {
+            case "SMALL" -> BoardSize.SMALL;
+            case "MEDIUM" -> BoardSize.MEDIUM;
+            case "BIG" -> BoardSize.BIG;
+            default -> null;
+        };
+
+        int width;
+        int height;
+        if (preset != null) {
+            if (density.equals("preset")) {
+                return preset;
+            }
+            width = preset.width();
+            height = preset.height();
+        } else {
+            var dimensions = size.split("x");
+            width = Integer.parseInt(dimensions[0]);
+            height = Integer.parseInt(dimensions[1]);
+        }
+
+        var share = density.equals("preset") ? PRESET_DENSITY : Double.parseDouble(density);
+        var mines = (int) Math.clamp(Math.round(width * height * share), 1, BoardSize.maxMines(width, height));
+        return new BoardSize(width, height, mines);
+    }
+
+    static int center(BoardSize boardSize) {
+        return boardSize.height() / 2 * boardSize.width() + boardSize.width() / 2;
+    }
+}
@@ -0,0 +1,87 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board generation and full board scans of both engines.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=BoardBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BoardBenchmark {
+    @Param({"SMALL", "MEDIUM", "BIG", "1000x1000", "5000x5000"})
+    private String size;
+
+    @Param({"preset", "0.05", "0.5"})
+    private String density;
+
+    @Param({"BYTES", "BITS"})
+    private Engine engine;
+
+    private BoardSize boardSize;
+    private int center;
+    private long seed;
+    private GameBoard generated;
+    // All safe cells are open, a fifth of mines is flagged: scans cannot stop early
+    private GameBoard explored;
+
+    @Setup
+    public void setup() {
+        boardSize = BenchmarkBoards.boardSize(size, density);
+        center = BenchmarkBoards.center(boardSize);
+        generated = engine.createBoard();
+
+        explored = engine.createBoard();
+        explored.setup(boardSize, Topology.RECTANGULAR);
+        explored.initialize(center, 1L);
+        for (int x = 0; x < explored.getSize(); x++) {
+            var value = explored.getValue(x);
+            if (Cell.mine(value)) {
+                if (x % 5 == 0) {
+                    explored.toggleFlag(x);
+                }
+            } else if (!Cell.isExplored(value)) {
+                explored.reveal(x, (_, _) -> {});
+            }
+        }
+    }
+
+    /**
+     * Includes setup of the empty board, a new board is generated on every call.
+     */
+    @Benchmark
+    public GameBoard initialize() {
+        generated.setup(boardSize, Topology.RECTANGULAR);
+        generated.initialize(center, seed++);
+        return generated;
+    }
+
+    /**
+     * Full scan in both engines. Mine and unexplored cell counts are kept by {@link Board} as counters, their scan
+     * passes are measured by {@link BoardPassesBenchmark}.
+     */
+    @Benchmark
+    public int[] getCellsToReveal() {
+        return explored.getCellsToReveal();
+    }
+}
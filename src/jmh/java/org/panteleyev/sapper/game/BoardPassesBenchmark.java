@@ -0,0 +1,94 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar and vector full board passes on large boards.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=BoardPassesBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BoardPassesBenchmark {
+    @Param({"1000", "5000"})
+    private int side;
+
+    @Param({"scalar", "vector"})
+    private String implementation;
+
+    private BoardPasses passes;
+    private int size;
+    // Mines only, numbers are not computed yet
+    private byte[] mined;
+    // All safe cells are open, a fifth of mines is flagged: scans cannot stop early
+    private byte[] explored;
+    private byte[] work;
+
+    @Setup
+    public void setup() {
+        passes = implementation.equals("vector") ? new VectorPasses() : new ScalarPasses();
+        size = side * side;
+
+        var board = new Board();
+        board.setup(new BoardSize(side, side, size / 5), Topology.RECTANGULAR);
+        board.initialize(size / 2 + side / 2, 1L);
+
+        mined = new byte[size];
+        explored = new byte[size];
+        for (int x = 0; x < size; x++) {
+            var value = board.getValue(x);
+            if (Cell.mine(value)) {
+                mined[x] = Cell.MINE;
+                explored[x] = (byte) (x % 5 == 0 ? Cell.MINE_WITH_FLAG : Cell.MINE);
+            } else {
+                mined[x] = Cell.EMPTY;
+                explored[x] = (byte) Cell.number(value);
+            }
+        }
+        work = new byte[size];
+    }
+
+    @Benchmark
+    public boolean hasUnexploredCells() {
+        return passes.hasUnexploredCells(explored, size);
+    }
+
+    @Benchmark
+    public int getFlagCount() {
+        return passes.getFlagCount(explored, size);
+    }
+
+    @Benchmark
+    public int[] getCellsToReveal() {
+        return passes.getCellsToReveal(explored, size);
+    }
+
+    /**
+     * Includes copy of the mined board, it is the same for both implementations.
+     */
+    @Benchmark
+    public byte[] countMines() {
+        System.arraycopy(mined, 0, work, 0, size);
+        passes.countMines(work, side, side, 0, side);
+        return work;
+    }
+}
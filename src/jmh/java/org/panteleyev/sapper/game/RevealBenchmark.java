@@ -0,0 +1,68 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worst case reveal: a board with a single mine, the first hit opens every other cell.
+ * <p>
+ * Board is regenerated before each call, on small boards the result is dominated by timer overhead and should be
+ * compared between engines only.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=RevealBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class RevealBenchmark {
+    @Param({"SMALL", "MEDIUM", "BIG", "1000x1000", "5000x5000"})
+    private String size;
+
+    @Param({"BYTES", "BITS"})
+    private Engine engine;
+
+    private BoardSize boardSize;
+    private int center;
+    private long seed;
+    private GameBoard board;
+    private int opened;
+
+    @Setup
+    public void setup() {
+        var dimensions = BenchmarkBoards.boardSize(size, "preset");
+        boardSize = new BoardSize(dimensions.width(), dimensions.height(), 1);
+        center = BenchmarkBoards.center(boardSize);
+        board = engine.createBoard();
+    }
+
+    @Setup(Level.Invocation)
+    public void generate() {
+        board.setup(boardSize, Topology.RECTANGULAR);
+        board.initialize(center, seed++);
+        opened = 0;
+    }
+
+    @Benchmark
+    public int reveal() {
+        board.reveal(center, (_, _) -> opened++);
+        return opened;
+    }
+}
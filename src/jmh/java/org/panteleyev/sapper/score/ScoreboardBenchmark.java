@@ -0,0 +1,130 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.score;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.panteleyev.sapper.game.BoardSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Scoreboard updates and persistence. Records are spread over board sizes, each size holds a full top list. Journal
+ * benchmarks use a temporary directory, appended records are never compacted.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@jmh -Djmh.include=ScoreboardBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreboardBenchmark {
+    private static final int SCORES_PER_SIZE = 10;
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 1);
+
+    @Param({"10", "1000", "100000"})
+    private int records;
+
+    private Scoreboard scoreboard;
+    private List<BoardSize> boardSizes;
+    private byte[] saved;
+    private int next;
+
+    private Path directory;
+    private ScoreJournal journal;
+
+    @Setup
+    public void setup() throws IOException {
+        var sizes = Math.max(1, records / SCORES_PER_SIZE);
+        boardSizes = new ArrayList<>(sizes);
+        for (int i = 0; i < sizes; i++) {
+            boardSizes.add(new BoardSize(BoardSize.MIN_WIDTH + i % 1000, BoardSize.MIN_HEIGHT + i / 1000, 10));
+        }
+
+        scoreboard = new Scoreboard();
+        for (var boardSize : boardSizes) {
+            for (int i = 0; i < SCORES_PER_SIZE; i++) {
+                scoreboard.add(new GameScore(boardSize, DATE, Duration.ofMillis(10_000 + i * 1_000)));
+            }
+        }
+
+        var out = new ByteArrayOutputStream();
+        scoreboard.save(out);
+        saved = out.toByteArray();
+
+        directory = Files.createTempDirectory("sapper-journal");
+        journal = new ScoreJournal(directory.resolve("scores.journal"), directory.resolve("scores.snapshot"),
+                Integer.MAX_VALUE);
+        journal.replace(scoreboard.getAllScores());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Every other call enters the top list and replaces its last score.
+     */
+    @Benchmark
+    public boolean add() {
+        var boardSize = boardSizes.get(next % boardSizes.size());
+        var millis = (next & 1) == 0 ? 5_000 : 60_000;
+        next++;
+        return scoreboard.add(new GameScore(boardSize, DATE, Duration.ofMillis(millis)));
+    }
+
+    @Benchmark
+    public byte[] save() {
+        var out = new ByteArrayOutputStream(saved.length);
+        scoreboard.save(out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Scoreboard load() {
+        var loaded = new Scoreboard();
+        loaded.load(new ByteArrayInputStream(saved));
+        return loaded;
+    }
+
+    @Benchmark
+    public boolean append() throws IOException {
+        var boardSize = boardSizes.get(next++ % boardSizes.size());
+        return journal.append(new GameScore(boardSize, DATE, Duration.ofMillis(5_000)));
+    }
+
+    @Benchmark
+    public ScoreJournal snapshot() throws IOException {
+        journal.replace(scoreboard.getAllScores());
+        return journal;
+    }
+}
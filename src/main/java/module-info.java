@@ -1,5 +1,8 @@
 module sapper {
+    requires java.management;
     requires java.xml;
+    requires jdk.jfr;
+    requires static jdk.incubator.vector;
 
     requires javafx.base;
     requires javafx.graphics;
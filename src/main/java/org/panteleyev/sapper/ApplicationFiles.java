@@ -22,19 +22,29 @@ import java.util.function.Consumer;
 import static org.panteleyev.freedesktop.Utility.isLinux;
 
 public class ApplicationFiles {
+    /**
+     * System property with directory for all files, replaces the usual locations.
+     */
+    public static final String DIRECTORY_PROPERTY = "sapper.directory";
+
     private static final String PACKAGE_NAME = "panteleyev.org";
     private static final String APP_NAME = "Sapper";
 
     public enum AppFile {
         SETTINGS("settings.xml"),
-        SCORES("scores.xml");
+        // Scores of older versions, migrated to the journal
+        SCORES("scores.xml"),
+        SCORES_JOURNAL("scores.journal"),
+        SCORES_SNAPSHOT("scores.snapshot");
 
         static final Set<AppFile> CONFIG_FILES = Set.of(
                 SETTINGS
         );
 
         static final Set<AppFile> DATA_FILES = Set.of(
-                SCORES
+                SCORES,
+                SCORES_JOURNAL,
+                SCORES_SNAPSHOT
         );
 
         private final String fileName;
@@ -54,7 +64,11 @@ public class ApplicationFiles {
     private final Map<AppFile, Path> fileMap = new EnumMap<>(AppFile.class);
 
     public ApplicationFiles() {
-        if (isLinux()) {
+        var directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory != null) {
+            configDirectory = Path.of(directory);
+            dataDirectory = configDirectory;
+        } else if (isLinux()) {
             configDirectory = XDGBaseDirectory.getConfigHome()
                     .resolve(PACKAGE_NAME)
                     .resolve(APP_NAME);
@@ -84,13 +98,22 @@ public class ApplicationFiles {
         }
     }
 
+    public Path getPath(AppFile appFile) {
+        return fileMap.get(appFile);
+    }
+
     public Result<Void> write(AppFile appFile, Consumer<OutputStream> fileConsumer) {
-        try (var out = Files.newOutputStream(fileMap.get(appFile))) {
+        var event = new FileEvent();
+        event.begin();
+        var file = fileMap.get(appFile);
+        try (var out = Files.newOutputStream(file)) {
             fileConsumer.accept(out);
-            return Result.empty();
         } catch (Exception ex) {
+            commit(event, appFile, "write", file, false);
             return Result.failure(ex);
         }
+        commit(event, appFile, "write", file, true);
+        return Result.empty();
     }
 
     public Result<Void> read(AppFile appFile, Consumer<InputStream> fileConsumer) {
@@ -99,12 +122,30 @@ public class ApplicationFiles {
             return Result.failure(new FileNotFoundException());
         }
 
+        var event = new FileEvent();
+        event.begin();
         try (var in = Files.newInputStream(file)) {
             fileConsumer.accept(in);
-            return Result.empty();
         } catch (Exception ex) {
+            commit(event, appFile, "read", file, false);
             return Result.failure(ex);
         }
+        commit(event, appFile, "read", file, true);
+        return Result.empty();
+    }
+
+    private static void commit(FileEvent event, AppFile appFile, String operation, Path file, boolean success) {
+        if (!event.shouldCommit()) return;
+
+        event.file = appFile.getFileName();
+        event.operation = operation;
+        event.success = success;
+        try {
+            event.bytes = Files.size(file);
+        } catch (IOException ex) {
+            event.bytes = -1;
+        }
+        event.commit();
     }
 
     private static void initDirectory(Path path, String name) {
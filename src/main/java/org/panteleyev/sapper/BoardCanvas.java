@@ -0,0 +1,528 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.input.ZoomEvent;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+import org.panteleyev.sapper.game.Cell;
+import org.panteleyev.sapper.game.DirtyCells;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zoomable and scrollable viewport of the board. Canvas covers the visible area only, painting cost depends on the
+ * size of the window, not the size of the board.
+ * <p>
+ * Changed cells are repainted on pulses, cells outside the visible area are skipped, they are painted when scrolled
+ * into view. Each pulse paints changed cells nearest to the ripple center first until the frame budget is spent, the
+ * rest waits for the next pulses, so large openings and the final reveal spread out from the click. Zoom and scroll
+ * repaint the whole visible area at once. When cells get too small for details each pixel of the canvas is filled
+ * with the color of the cell under it.
+ * <p>
+ * Mouse wheel scrolls, wheel with the shortcut key or a zoom gesture zooms, dragging with any button scrolls too.
+ * Mouse release that ends a drag is consumed.
+ */
+final class BoardCanvas extends Canvas {
+    interface PaintListener {
+        /**
+         * Called after each pulse that painted anything.
+         *
+         * @param cells number of cells painted
+         * @param nanos time spent
+         */
+        void onPaint(int cells, long nanos);
+    }
+
+    static final double CELL_SIZE = 40;
+    private static final double MAX_CELL_SIZE = 80;
+    // Smaller cells are painted by pixels
+    private static final double DETAIL_CELL_SIZE = 14;
+    // Sprites are scaled down from the nearest larger size
+    private static final double[] SPRITE_SIZES = {DETAIL_CELL_SIZE, CELL_SIZE / 2, CELL_SIZE, MAX_CELL_SIZE};
+
+    private static final double ZOOM_STEP = 1.1;
+    private static final double DRAG_THRESHOLD = 4;
+    private static final double MIN_VIEW_SIZE = 200;
+    // Part of the screen the board may take by default
+    private static final double SCREEN_RATIO = 0.8;
+
+    private static final int BACKGROUND_PIXEL = SpriteAtlas.argb(SpriteAtlas.BACKGROUND_COLOR);
+
+    private final GraphicsContext gc = getGraphicsContext2D();
+
+    // Board
+    private int columns;
+    private int rows;
+    private byte[] values = new byte[0];
+    private boolean minesShown;
+    private int exploded = -1;
+
+    // Viewport: size of cell and position of the canvas top left corner in board pixels
+    private double cellSize = CELL_SIZE;
+    private double originX;
+    private double originY;
+    private boolean fitToView;
+
+    // Atlases of all sprite sizes for the current output scale, the one used by the current cell size
+    private final SpriteAtlas[] atlases = new SpriteAtlas[SPRITE_SIZES.length];
+    private SpriteAtlas atlas;
+
+    // Dirty region
+    private final DirtyCells dirtyCells = new DirtyCells();
+    private boolean dirtyView;
+    // Changed cells waiting for paint ordered by distance from the ripple center, distance is in the high half
+    private long[] queue = new long[64];
+    private int queueHead;
+    private int queueSize;
+    private int rippleCenter;
+    private long frameBudget = TimeUnit.MILLISECONDS.toNanos(4);
+    private final AnimationTimer renderTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            paint();
+        }
+    };
+
+    private PaintListener paintListener = (_, _) -> {};
+    private int paintedCells;
+
+    // Pixel painting buffers
+    private int[] pixels = new int[0];
+    private int[] pixelColumns = new int[0];
+
+    // Drag state
+    private double pressX;
+    private double pressY;
+    private boolean dragged;
+
+    BoardCanvas() {
+        addEventFilter(MouseEvent.MOUSE_PRESSED, this::onMousePressed);
+        addEventFilter(MouseEvent.MOUSE_DRAGGED, this::onMouseDragged);
+        addEventFilter(MouseEvent.MOUSE_RELEASED, this::onMouseReleased);
+        addEventHandler(ScrollEvent.SCROLL, this::onScroll);
+        addEventHandler(ZoomEvent.ZOOM, this::onZoom);
+
+        sceneProperty().flatMap(Scene::windowProperty).flatMap(Window::outputScaleXProperty)
+                .addListener((_, _, _) -> invalidateView());
+    }
+
+    /**
+     * Shows new board. Values are cell values known to the UI in {@link Cell} encoding, the array is read whenever
+     * cells are painted.
+     */
+    void setBoard(int columns, int rows, byte[] values) {
+        this.columns = columns;
+        this.rows = rows;
+        this.values = values;
+        minesShown = false;
+        exploded = -1;
+        fitToView = true;
+        fit();
+        invalidateView();
+    }
+
+    void setPaintListener(PaintListener paintListener) {
+        this.paintListener = paintListener;
+    }
+
+    void setFrameBudget(Duration frameBudget) {
+        this.frameBudget = frameBudget.toNanos();
+    }
+
+    /**
+     * Sets the cell changes spread out from, cells changed after the call are painted in order of distance from it.
+     */
+    void rippleFrom(int cell) {
+        rippleCenter = cell;
+    }
+
+    /**
+     * Repaints cell on the next pulses.
+     */
+    void invalidate(int cell) {
+        if (dirtyView) return;
+
+        if (cellSize < DETAIL_CELL_SIZE) {
+            invalidateView();
+        } else if (isVisible(cell)) {
+            dirtyCells.add(cell);
+            renderTimer.start();
+        }
+    }
+
+    /**
+     * Shows mines without flag and wrong flags, values of these cells must be set and the cells must be invalidated
+     * by the caller.
+     *
+     * @param exploded mine that was hit
+     */
+    void showMines(int exploded) {
+        minesShown = true;
+        this.exploded = exploded;
+        rippleFrom(exploded);
+        invalidate(exploded);
+    }
+
+    /**
+     * Returns cell under the point or -1 if point is outside the board.
+     */
+    int cellAt(double x, double y) {
+        var boardX = originX + x;
+        var boardY = originY + y;
+        if (boardX < 0 || boardY < 0) return -1;
+
+        var column = (int) (boardX / cellSize);
+        var row = (int) (boardY / cellSize);
+        return column < columns && row < rows ? row * columns + column : -1;
+    }
+
+    /**
+     * Returns true if the cell is explored and is already painted so. Changed cells wait for their turn during a
+     * ripple, until then they still look covered.
+     */
+    boolean isPaintedOpen(int cell) {
+        if (!Cell.isExplored(values[cell])) return false;
+        if (dirtyView || dirtyCells.contains(cell)) return false;
+
+        for (int i = queueHead; i < queueSize; i++) {
+            if ((int) queue[i] == cell) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scrolls the board to the cell if it is not fully visible and returns center of the cell in canvas coordinates.
+     */
+    Point2D showCell(int cell) {
+        var left = cell % columns * cellSize;
+        var top = cell / columns * cellSize;
+        if (left < originX || left + cellSize > originX + getWidth()
+                || top < originY || top + cellSize > originY + getHeight())
+        {
+            fitToView = false;
+            moveTo(left + (cellSize - getWidth()) / 2, top + (cellSize - getHeight()) / 2);
+            invalidateView();
+        }
+        return new Point2D(left - originX + cellSize / 2, top - originY + cellSize / 2);
+    }
+
+    @Override
+    public boolean isResizable() {
+        return true;
+    }
+
+    @Override
+    public double minWidth(double height) {
+        return MIN_VIEW_SIZE;
+    }
+
+    @Override
+    public double minHeight(double width) {
+        return MIN_VIEW_SIZE;
+    }
+
+    @Override
+    public double prefWidth(double height) {
+        var maxWidth = Screen.getPrimary().getVisualBounds().getWidth() * SCREEN_RATIO;
+        return Math.max(MIN_VIEW_SIZE, Math.min(columns * CELL_SIZE, maxWidth));
+    }
+
+    @Override
+    public double prefHeight(double width) {
+        var maxHeight = Screen.getPrimary().getVisualBounds().getHeight() * SCREEN_RATIO;
+        return Math.max(MIN_VIEW_SIZE, Math.min(rows * CELL_SIZE, maxHeight));
+    }
+
+    @Override
+    public double maxWidth(double height) {
+        return Double.MAX_VALUE;
+    }
+
+    @Override
+    public double maxHeight(double width) {
+        return Double.MAX_VALUE;
+    }
+
+    @Override
+    public void resize(double width, double height) {
+        if (width == getWidth() && height == getHeight()) return;
+
+        setWidth(width);
+        setHeight(height);
+        if (fitToView) {
+            fit();
+        } else {
+            moveTo(originX, originY);
+        }
+        invalidateView();
+    }
+
+    /**
+     * Zooms keeping the board point under the pivot in place.
+     */
+    private void zoom(double factor, double pivotX, double pivotY) {
+        var newSize = Math.clamp(cellSize * factor, minCellSize(), MAX_CELL_SIZE);
+        if (newSize == cellSize) return;
+
+        var scale = newSize / cellSize;
+        setCellSize(newSize);
+        fitToView = false;
+        moveTo((originX + pivotX) * scale - pivotX, (originY + pivotY) * scale - pivotY);
+        invalidateView();
+    }
+
+    private void scroll(double dx, double dy) {
+        fitToView = false;
+        moveTo(originX - dx, originY - dy);
+        invalidateView();
+    }
+
+    /**
+     * Largest cell size up to the default one that shows the whole board.
+     */
+    private void fit() {
+        setCellSize(minCellSize());
+        moveTo(0, 0);
+    }
+
+    private double minCellSize() {
+        if (getWidth() <= 0 || getHeight() <= 0 || columns == 0) return CELL_SIZE;
+        return Math.min(CELL_SIZE, Math.min(getWidth() / columns, getHeight() / rows));
+    }
+
+    private void setCellSize(double size) {
+        cellSize = size;
+        atlas = null;
+    }
+
+    /**
+     * Selects atlas for the current cell size, atlases are rendered again when window moves to a screen with
+     * different output scale.
+     */
+    private SpriteAtlas atlas() {
+        var window = getScene() == null ? null : getScene().getWindow();
+        var outputScale = window == null ? 1.0 : window.getOutputScaleX();
+        if (atlases[0] == null || atlases[0].getOutputScale() != outputScale) {
+            for (int i = 0; i < SPRITE_SIZES.length; i++) {
+                atlases[i] = new SpriteAtlas(SPRITE_SIZES[i], outputScale);
+            }
+            atlas = null;
+        }
+
+        if (atlas == null) {
+            var level = 0;
+            while (level < SPRITE_SIZES.length - 1 && SPRITE_SIZES[level] < cellSize) {
+                level++;
+            }
+            atlas = atlases[level];
+        }
+        return atlas;
+    }
+
+    /**
+     * Moves viewport keeping the board on screen, board smaller than the canvas is centered.
+     */
+    private void moveTo(double x, double y) {
+        originX = clampOrigin(x, columns * cellSize, getWidth());
+        originY = clampOrigin(y, rows * cellSize, getHeight());
+    }
+
+    private static double clampOrigin(double origin, double boardSize, double viewSize) {
+        return boardSize <= viewSize ? (boardSize - viewSize) / 2 : Math.clamp(origin, 0, boardSize - viewSize);
+    }
+
+    private void invalidateView() {
+        dirtyView = true;
+        dirtyCells.clear();
+        queueHead = 0;
+        queueSize = 0;
+        renderTimer.start();
+    }
+
+    private boolean isVisible(int cell) {
+        var left = cell % columns * cellSize - originX;
+        var top = cell / columns * cellSize - originY;
+        return left < getWidth() && left + cellSize > 0 && top < getHeight() && top + cellSize > 0;
+    }
+
+    private void paint() {
+        var start = System.nanoTime();
+        paintedCells = 0;
+        if (cellSize >= DETAIL_CELL_SIZE) {
+            atlas();
+        }
+
+        if (dirtyView) {
+            dirtyView = false;
+            if (cellSize < DETAIL_CELL_SIZE) {
+                paintPixels();
+            } else {
+                paintVisibleCells();
+            }
+        } else {
+            paintQueued();
+        }
+        paintListener.onPaint(paintedCells, System.nanoTime() - start);
+    }
+
+    private void paintQueued() {
+        if (!dirtyCells.isEmpty()) {
+            System.arraycopy(queue, queueHead, queue, 0, queueSize - queueHead);
+            queueSize -= queueHead;
+            queueHead = 0;
+            if (queueSize + dirtyCells.size() > queue.length) {
+                queue = Arrays.copyOf(queue, Math.max(queueSize + dirtyCells.size(), queue.length * 2));
+            }
+            dirtyCells.drain(cell -> queue[queueSize++] = (long) distance(cell) << 32 | cell);
+            Arrays.sort(queue, 0, queueSize);
+        }
+
+        var start = System.nanoTime();
+        while (queueHead < queueSize) {
+            paintCell((int) queue[queueHead++]);
+            if ((queueHead & 0x1F) == 0 && System.nanoTime() - start > frameBudget) break;
+        }
+
+        if (queueHead < queueSize) {
+            renderTimer.start();
+        } else {
+            queueHead = 0;
+            queueSize = 0;
+        }
+    }
+
+    private int distance(int cell) {
+        var dx = Math.abs(cell % columns - rippleCenter % columns);
+        var dy = Math.abs(cell / columns - rippleCenter / columns);
+        return Math.max(dx, dy);
+    }
+
+    private void paintVisibleCells() {
+        gc.setFill(SpriteAtlas.BACKGROUND_COLOR);
+        gc.fillRect(0, 0, getWidth(), getHeight());
+
+        var firstColumn = Math.max(0, (int) (originX / cellSize));
+        var lastColumn = Math.min(columns - 1, (int) ((originX + getWidth()) / cellSize));
+        var firstRow = Math.max(0, (int) (originY / cellSize));
+        var lastRow = Math.min(rows - 1, (int) ((originY + getHeight()) / cellSize));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                paintCell(row * columns + column);
+            }
+        }
+    }
+
+    /**
+     * Fills each canvas pixel with the color of the cell under it.
+     */
+    private void paintPixels() {
+        var width = (int) getWidth();
+        var height = (int) getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        if (pixels.length < width * height) {
+            pixels = new int[width * height];
+        }
+        if (pixelColumns.length < width) {
+            pixelColumns = new int[width];
+        }
+        for (int px = 0; px < width; px++) {
+            var column = Math.floor((originX + px + 0.5) / cellSize);
+            pixelColumns[px] = column >= 0 && column < columns ? (int) column : -1;
+        }
+
+        for (int py = 0; py < height; py++) {
+            var row = Math.floor((originY + py + 0.5) / cellSize);
+            var offset = py * width;
+            if (row < 0 || row >= rows) {
+                Arrays.fill(pixels, offset, offset + width, BACKGROUND_PIXEL);
+                continue;
+            }
+
+            var rowStart = (int) row * columns;
+            for (int px = 0; px < width; px++) {
+                var column = pixelColumns[px];
+                pixels[offset + px] = column < 0 ? BACKGROUND_PIXEL : SpriteAtlas.pixelColor(look(rowStart + column));
+            }
+        }
+
+        paintedCells += Math.min(columns, (int) (width / cellSize) + 2)
+                * Math.min(rows, (int) (height / cellSize) + 2);
+        gc.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+    }
+
+    private void paintCell(int cell) {
+        // Cell edges are rounded to whole pixels so that adjacent cells have no gaps
+        var column = cell % columns;
+        var row = cell / columns;
+        var left = Math.floor(column * cellSize - originX);
+        var top = Math.floor(row * cellSize - originY);
+        var width = Math.floor((column + 1) * cellSize - originX) - left;
+        var height = Math.floor((row + 1) * cellSize - originY) - top;
+
+        atlas.draw(gc, look(cell), left, top, width, height);
+        paintedCells++;
+    }
+
+    private int look(int cell) {
+        int value = values[cell];
+        if (Cell.isExplored(value)) return value;
+        if (cell == exploded) return SpriteAtlas.EXPLODED;
+        if (minesShown && Cell.mineNoFlag(value)) return SpriteAtlas.MINE;
+        if (minesShown && Cell.emptyWithFlag(value)) return SpriteAtlas.WRONG_FLAG;
+        return Cell.flag(value) ? SpriteAtlas.FLAG : SpriteAtlas.COVERED;
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        pressX = event.getX();
+        pressY = event.getY();
+        dragged = false;
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+        var dx = event.getX() - pressX;
+        var dy = event.getY() - pressY;
+        if (!dragged && Math.hypot(dx, dy) < DRAG_THRESHOLD) return;
+
+        dragged = true;
+        scroll(dx, dy);
+        pressX = event.getX();
+        pressY = event.getY();
+    }
+
+    private void onMouseReleased(MouseEvent event) {
+        if (dragged) {
+            dragged = false;
+            event.consume();
+        }
+    }
+
+    private void onScroll(ScrollEvent event) {
+        event.consume();
+        if (event.isShortcutDown()) {
+            if (event.getDeltaY() != 0) {
+                zoom(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP, event.getX(), event.getY());
+            }
+        } else {
+            scroll(event.getDeltaX(), event.getDeltaY());
+        }
+    }
+
+    private void onZoom(ZoomEvent event) {
+        event.consume();
+        zoom(event.getZoomFactor(), event.getX(), event.getY());
+    }
+}
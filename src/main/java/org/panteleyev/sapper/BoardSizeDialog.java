@@ -25,24 +25,30 @@ import static org.panteleyev.sapper.bundles.Internationalization.I18N_HEIGHT;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_MINES;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_USER_GAME;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_WIDTH;
-import static org.panteleyev.sapper.game.BoardSize.MAX_HEIGHT;
-import static org.panteleyev.sapper.game.BoardSize.MAX_WIDTH;
+import static org.panteleyev.sapper.game.BoardSize.MAX_LARGE_HEIGHT;
+import static org.panteleyev.sapper.game.BoardSize.MAX_LARGE_WIDTH;
 import static org.panteleyev.sapper.game.BoardSize.MIN_HEIGHT;
 import static org.panteleyev.sapper.game.BoardSize.MIN_WIDTH;
+import static org.panteleyev.sapper.game.BoardSize.maxMines;
 
 public class BoardSizeDialog extends BaseDialog<BoardSize> {
-    private final Spinner<Integer> widthSpinner = new Spinner<>(MIN_WIDTH, MAX_WIDTH, MIN_WIDTH);
-    private final Spinner<Integer> heightSpinner = new Spinner<>(MIN_HEIGHT, MAX_HEIGHT, MIN_HEIGHT);
-    private final Spinner<Integer> mineSpinner = new Spinner<>(1, (MIN_WIDTH - 1) * (MIN_HEIGHT - 1), 1);
-    private final Label mineLabel = label("1 - " + (MIN_WIDTH - 1) * (MIN_HEIGHT - 1));
+    private final Spinner<Integer> widthSpinner = new Spinner<>(MIN_WIDTH, MAX_LARGE_WIDTH, MIN_WIDTH);
+    private final Spinner<Integer> heightSpinner = new Spinner<>(MIN_HEIGHT, MAX_LARGE_HEIGHT, MIN_HEIGHT);
+    private final Spinner<Integer> mineSpinner = new Spinner<>(1, maxMines(MIN_WIDTH, MIN_HEIGHT), 1);
+    private final Label mineLabel = label("1 - " + maxMines(MIN_WIDTH, MIN_HEIGHT));
 
-    private static final String WIDTH_LABEL_TEXT = MIN_WIDTH + " - " + MAX_WIDTH;
-    private static final String HEIGHT_LABEL_TEXT = MIN_HEIGHT + " - " + MAX_HEIGHT;
+    private static final String WIDTH_LABEL_TEXT = MIN_WIDTH + " - " + MAX_LARGE_WIDTH;
+    private static final String HEIGHT_LABEL_TEXT = MIN_HEIGHT + " - " + MAX_LARGE_HEIGHT;
 
     public BoardSizeDialog(Controller owner) {
         super(owner, DIALOG_STYLE_SHEET);
         setTitle(string(UI, I18N_USER_GAME));
 
+        // Board viewport scrolls and zooms, large sizes are easier to type than to spin to
+        widthSpinner.setEditable(true);
+        heightSpinner.setEditable(true);
+        mineSpinner.setEditable(true);
+
         widthSpinner.valueProperty().addListener((_, _, _) -> adjustMineSpinner());
         heightSpinner.valueProperty().addListener((_, _, _) -> adjustMineSpinner());
 
@@ -76,7 +82,7 @@ public class BoardSizeDialog extends BaseDialog<BoardSize> {
 
     private void adjustMineSpinner() {
         if (mineSpinner.getValueFactory() instanceof SpinnerValueFactory.IntegerSpinnerValueFactory intFactory) {
-            var maxValue = (widthSpinner.getValue() - 1) * (heightSpinner.getValue() - 1);
+            var maxValue = maxMines(widthSpinner.getValue(), heightSpinner.getValue());
             intFactory.setMax(maxValue);
             mineLabel.setText("1 - " + maxValue);
 
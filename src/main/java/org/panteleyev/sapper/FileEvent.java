@@ -0,0 +1,27 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.File")
+@Label("Application File")
+@Category({"Sapper", "Persistence"})
+final class FileEvent extends Event {
+    @Label("File")
+    String file;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,226 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.Cell;
+import org.panteleyev.sapper.game.DirtyCells;
+import org.panteleyev.sapper.game.Game;
+import org.panteleyev.sapper.game.GameStatus;
+import org.panteleyev.sapper.game.Topology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Runs the game on a dedicated thread. Commands are queued and executed in order, results of each command are
+ * published as an immutable batch. Batches are delivered by the UI executor, all batches accumulated by the time of
+ * delivery are delivered at once. Batches of games replaced by a new game are dropped.
+ * <p>
+ * Commands and delivery must be called from the UI thread.
+ */
+final class GameEngine implements AutoCloseable {
+    record StatusChange(int x, GameStatus status) {
+    }
+
+    /**
+     * {@link System#nanoTime()} when command was submitted from the UI thread, started and finished on the engine
+     * thread.
+     */
+    record Timing(long submitted, long started, long finished) {
+    }
+
+    /**
+     * Result of a command.
+     *
+     * @param timing         timing of the command
+     * @param cells          changed cells
+     * @param values         new values of changed cells
+     * @param remainingMines remaining mines counter
+     * @param statusChanges  game status changes in order
+     * @param revealCells    mines without flag and flags without mine, filled when game is lost
+     * @param revealValues   values of cells to reveal
+     */
+    record Batch(int generation, Timing timing, int[] cells, int[] values, int remainingMines,
+                 List<StatusChange> statusChanges, int[] revealCells, int[] revealValues)
+    {
+    }
+
+    private static final System.Logger LOGGER = System.getLogger(GameEngine.class.getName());
+
+    private static final int[] EMPTY = new int[0];
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "sapper-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Engine thread state
+    private final DirtyCells dirtyCells = new DirtyCells();
+    private final List<StatusChange> statusChanges = new ArrayList<>();
+    private final Game game = new Game(dirtyCells, (x, status) -> statusChanges.add(new StatusChange(x, status)));
+    private BoardSize boardSize;
+
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+    private final Consumer<Batch> listener;
+    private final Executor uiExecutor;
+    private final SapperMetrics metrics;
+
+    // UI thread state
+    private int generation;
+
+    GameEngine(Consumer<Batch> listener, Executor uiExecutor, SapperMetrics metrics) {
+        this.listener = listener;
+        this.uiExecutor = uiExecutor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts new game on a random board.
+     *
+     * @return seed of the board
+     */
+    long newGame(BoardSize boardSize) {
+        var seed = ThreadLocalRandom.current().nextLong();
+        newGame(boardSize, seed);
+        return seed;
+    }
+
+    /**
+     * @param seed seed of the board, see {@link Game#newGame(BoardSize, Topology, long)}
+     */
+    void newGame(BoardSize boardSize, long seed) {
+        var newGeneration = ++generation;
+        run(newGeneration, false, () -> {
+            this.boardSize = boardSize;
+            game.newGame(boardSize, Topology.RECTANGULAR, seed);
+            dirtyCells.clear();
+            statusChanges.clear();
+        });
+    }
+
+    void processHit(int x) {
+        run(generation, true, () -> game.processHit(x));
+    }
+
+    void toggleFlag(int x) {
+        run(generation, false, () -> {
+            // Cell may have been opened by a command queued earlier
+            if (!game.getGameStatus().isFinal() && !Cell.isExplored(game.getValue(x))) {
+                game.toggleFlag(x);
+            }
+        });
+    }
+
+    void chord(int x) {
+        run(generation, true, () -> game.chord(x));
+    }
+
+    /**
+     * Runs a task on the engine thread after all queued commands. Failure of the task is logged.
+     */
+    void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.ERROR, "Engine task failed", ex);
+            }
+        });
+    }
+
+    /**
+     * Stops the engine after queued commands and tasks are finished. Waits up to {@link #CLOSE_TIMEOUT_SECONDS} for
+     * them, so scores saved by the queued tasks are written before the application exits.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs command and publishes its changes. Failure of the command is logged, changes it made before the failure
+     * are published all the same, so they are not mixed into the batch of the next command.
+     *
+     * @param move true if command may open cells
+     */
+    private void run(int commandGeneration, boolean move, Runnable command) {
+        var submitted = System.nanoTime();
+        executor.execute(() -> {
+            var started = System.nanoTime();
+            try {
+                command.run();
+            } catch (RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.ERROR, "Game command failed", ex);
+            }
+            var timing = new Timing(submitted, started, System.nanoTime());
+
+            try {
+                if (move && !dirtyCells.isEmpty()) {
+                    metrics.onReveal(dirtyCells.size(), timing.finished() - timing.started());
+                }
+                for (var change : statusChanges) {
+                    metrics.onStatusChanged(boardSize, change.status());
+                }
+                publish(commandGeneration, timing);
+            } finally {
+                dirtyCells.clear();
+                statusChanges.clear();
+            }
+        });
+    }
+
+    private void publish(int commandGeneration, Timing timing) {
+        var cells = new int[dirtyCells.size()];
+        var values = new int[cells.length];
+        var index = new int[1];
+        dirtyCells.drain(x -> {
+            cells[index[0]] = x;
+            values[index[0]++] = game.getValue(x);
+        });
+
+        var revealCells = EMPTY;
+        var revealValues = EMPTY;
+        if (game.getGameStatus() == GameStatus.FAILURE && !statusChanges.isEmpty()) {
+            revealCells = game.getCellsToReveal();
+            revealValues = new int[revealCells.length];
+            for (int i = 0; i < revealCells.length; i++) {
+                revealValues[i] = game.getValue(revealCells[i]);
+            }
+        }
+
+        batches.add(new Batch(commandGeneration, timing, cells, values, game.getRemainingMines(),
+                List.copyOf(statusChanges), revealCells, revealValues));
+        statusChanges.clear();
+
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            uiExecutor.execute(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        deliveryScheduled.set(false);
+        for (var batch = batches.poll(); batch != null; batch = batches.poll()) {
+            if (batch.generation() == generation) {
+                listener.accept(batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.scene.input.MouseButton;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+/**
+ * Receives games played in the window, see {@link SapperWindowController#setGameListener(GameListener)}. The
+ * application itself does not install a listener.
+ * <p>
+ * Called on the FX application thread.
+ */
+interface GameListener {
+    GameListener NONE = new GameListener() {
+    };
+
+    /**
+     * @param seed seed of the board, the same board is played by {@link SapperWindowController#newGame(BoardSize, long)}
+     */
+    default void gameStarted(BoardSize boardSize, long seed) {
+    }
+
+    default void cellClicked(int cell, MouseButton button) {
+    }
+
+    default void gameFinished(GameStatus result) {
+    }
+}
@@ -2,57 +2,132 @@
 // SPDX-License-Identifier: BSD-2-Clause
 package org.panteleyev.sapper;
 
-import javafx.application.Platform;
+import javafx.animation.PauseTransition;
 import javafx.beans.property.ReadOnlyStringProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Game clock based on {@link System#nanoTime()}. Display is updated at whole seconds of the clock by a pause
+ * transition re-armed for the next second from the clock, no threads are created. Paused clock does not count time,
+ * the window pauses it while iconified.
+ * <p>
+ * Must be used from the FX application thread.
+ */
 public class GameTimer {
-    private static final long FIXED_RATE = 1000L;
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("mm:ss");
+    private static final String ZERO_TIME = "00:00";
+    private static final long MILLIS_PER_SECOND = 1000;
 
-    private Timer timer;
-    private LocalTime localTime;
+    private final StringProperty timeStringProperty = new SimpleStringProperty(ZERO_TIME);
+    private final PauseTransition tick = new PauseTransition();
 
-    private final StringProperty timeStringProperty = new SimpleStringProperty("00:00");
+    private boolean running;
+    private boolean paused;
+    // Time counted before the current run, start of the current run
+    private long elapsedNanos;
+    private long startNanos;
+    private long shownSeconds;
+
+    public GameTimer() {
+        tick.setOnFinished(_ -> onTick());
+    }
 
     public ReadOnlyStringProperty timeStringProperty() {
         return timeStringProperty;
     }
 
-    public LocalTime getLocalTime() {
-        return localTime;
+    /**
+     * Returns elapsed time with millisecond precision.
+     */
+    public Duration getElapsed() {
+        var nanos = elapsedNanos;
+        if (running && !paused) {
+            nanos += System.nanoTime() - startNanos;
+        }
+        return Duration.ofNanos(nanos).truncatedTo(ChronoUnit.MILLIS);
     }
 
     public void start() {
-        localTime = LocalTime.MIN;
+        start(System.nanoTime());
+    }
 
-        timer = new Timer(true);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                handle();
-            }
-        }, FIXED_RATE, FIXED_RATE);
+    /**
+     * Starts the clock at the given {@link System#nanoTime()}.
+     */
+    public void start(long nanos) {
+        running = true;
+        elapsedNanos = 0;
+        resume(nanos);
     }
 
     public void stop() {
-        if (timer != null) {
-            timer.cancel();
-        }
+        stop(System.nanoTime());
+    }
+
+    /**
+     * Stops the clock at the given {@link System#nanoTime()}.
+     */
+    public void stop(long nanos) {
+        suspend(nanos);
+        running = false;
     }
 
-    public void handle() {
-        localTime = localTime.plusSeconds(1);
-        Platform.runLater(() -> timeStringProperty.set(FORMATTER.format(localTime)));
+    public void setPaused(boolean paused) {
+        if (this.paused == paused) return;
+
+        if (paused) {
+            suspend(System.nanoTime());
+        }
+        this.paused = paused;
+        if (!paused) {
+            resume(System.nanoTime());
+        }
     }
 
     public void reset() {
-        timeStringProperty.set("00:00");
+        stop();
+        elapsedNanos = 0;
+        shownSeconds = 0;
+        timeStringProperty.set(ZERO_TIME);
+    }
+
+    private void resume(long nanos) {
+        if (!running || paused) return;
+
+        startNanos = nanos;
+        scheduleTick();
+    }
+
+    private void suspend(long nanos) {
+        if (!running || paused) return;
+
+        elapsedNanos += nanos - startNanos;
+        tick.stop();
+        updateTimeString();
+    }
+
+    private void scheduleTick() {
+        var delay = MILLIS_PER_SECOND - getElapsed().toMillis() % MILLIS_PER_SECOND;
+        tick.setDuration(javafx.util.Duration.millis(delay));
+        tick.playFromStart();
+    }
+
+    private void onTick() {
+        updateTimeString();
+        scheduleTick();
+    }
+
+    private void updateTimeString() {
+        var seconds = TimeUnit.MILLISECONDS.toSeconds(getElapsed().toMillis());
+        if (seconds == shownSeconds) return;
+
+        shownSeconds = seconds;
+        timeStringProperty.set(seconds < 3600
+                ? String.format("%02d:%02d", seconds / 60, seconds % 60)
+                : String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60));
     }
 }
@@ -7,10 +7,14 @@ package org.panteleyev.sapper;
 import org.panteleyev.sapper.score.Scoreboard;
 import org.panteleyev.sapper.settings.Settings;
 
+/**
+ * Application wide singletons. They are created when the class is initialized and are safe to use from any thread.
+ */
 public final class GlobalContext {
     private static final ApplicationFiles FILES = new ApplicationFiles();
     private static final Scoreboard SCOREBOARD = new Scoreboard();
     private static final Settings SETTINGS = new Settings(FILES);
+    private static final SapperMetrics METRICS = new SapperMetrics();
 
     private GlobalContext() {
     }
@@ -26,4 +30,8 @@ public final class GlobalContext {
     public static Scoreboard scoreboard() {
         return SCOREBOARD;
     }
+
+    public static SapperMetrics metrics() {
+        return METRICS;
+    }
 }
@@ -0,0 +1,85 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations in nanoseconds with fixed relative precision. Each power of two range is split into
+ * {@code 2^SUB_BUCKET_BITS} linear buckets, so any recorded value is reported within about 3% whatever its magnitude.
+ * Recording does not allocate.
+ * <p>
+ * Not thread safe.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    void record(long nanos) {
+        var value = Math.max(0, nanos);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Returns the highest value of the bucket holding the given percentile, zero if nothing was recorded.
+     *
+     * @param percentile percentile from 0 to 100
+     */
+    long getValueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+
+        var rank = Math.max(1, (long) Math.ceil(Math.clamp(percentile, 0, 100) / 100 * count));
+        var seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        var magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var shift = magnitude - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        var shift = index / SUB_BUCKETS - 1;
+        var sub = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((long) (sub + 1) << shift) - 1;
+    }
+}
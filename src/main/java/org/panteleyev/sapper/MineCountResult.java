@@ -1,8 +0,0 @@
-/*
- Copyright © 2024 Petr Panteleyev <petr@panteleyev.org>
- SPDX-License-Identifier: BSD-2-Clause
- */
-package org.panteleyev.sapper;
-
-public record MineCountResult(int value, int[] neighbours) {
-}
@@ -0,0 +1,165 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of user commands split into phases:
+ * <ul>
+ *     <li>queue - from the input event handler to the start of the command on the engine thread</li>
+ *     <li>engine - command execution</li>
+ *     <li>fan-out - from the end of the command to the end of applying its batch on the UI thread</li>
+ *     <li>paint - painting of changed cells on the next pulse</li>
+ *     <li>layout - CSS and layout passes of that pulse</li>
+ * </ul>
+ * Total latency ends with the layout pass of the first pulse after the batch, that pulse is rendered next. Rendering
+ * itself runs on the render thread and is not measured.
+ * <p>
+ * Overlay shows percentiles, frame time and cells painted per frame, it is updated a few times per second while
+ * visible. Frame time is measured only while the overlay is visible as it keeps pulses going.
+ * <p>
+ * Must be used from the FX application thread.
+ */
+final class PerformanceMonitor implements BoardCanvas.PaintListener {
+    private static final long HUD_UPDATE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram queue = new LatencyHistogram();
+    private final LatencyHistogram engine = new LatencyHistogram();
+    private final LatencyHistogram fanOut = new LatencyHistogram();
+    private final LatencyHistogram paint = new LatencyHistogram();
+    private final LatencyHistogram layout = new LatencyHistogram();
+    private final LatencyHistogram frame = new LatencyHistogram();
+
+    // Submission times of commands applied but not yet shown
+    private long[] pending = new long[16];
+    private int pendingCount;
+    private long preLayoutNanos;
+
+    private int lastFrameCells;
+    private int maxFrameCells;
+
+    private final Label hud = hudLabel();
+    private final AnimationTimer hudTimer = new AnimationTimer() {
+        private long lastPulse;
+        private long lastUpdate;
+
+        @Override
+        public void start() {
+            lastPulse = 0;
+            lastUpdate = 0;
+            super.start();
+        }
+
+        @Override
+        public void handle(long now) {
+            if (lastPulse != 0) {
+                frame.record(now - lastPulse);
+            }
+            lastPulse = now;
+
+            if (now - lastUpdate >= HUD_UPDATE_INTERVAL) {
+                lastUpdate = now;
+                updateHud();
+            }
+        }
+    };
+
+    /**
+     * Installs pulse listeners measuring layout and total latency.
+     */
+    void attach(Scene scene) {
+        scene.addPreLayoutPulseListener(() -> preLayoutNanos = System.nanoTime());
+        scene.addPostLayoutPulseListener(this::onPostLayout);
+    }
+
+    Node getHud() {
+        return hud;
+    }
+
+    void toggleHud() {
+        hud.setVisible(!hud.isVisible());
+        if (hud.isVisible()) {
+            updateHud();
+            hudTimer.start();
+        } else {
+            hudTimer.stop();
+        }
+    }
+
+    /**
+     * Records phases of a command, must be called when its batch is applied.
+     */
+    void onBatchApplied(GameEngine.Timing timing) {
+        var now = System.nanoTime();
+        queue.record(timing.started() - timing.submitted());
+        engine.record(timing.finished() - timing.started());
+        fanOut.record(now - timing.finished());
+
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = timing.submitted();
+    }
+
+    @Override
+    public void onPaint(int cells, long nanos) {
+        paint.record(nanos);
+        lastFrameCells = cells;
+        maxFrameCells = Math.max(maxFrameCells, cells);
+    }
+
+    private void onPostLayout() {
+        if (pendingCount == 0) return;
+
+        var now = System.nanoTime();
+        layout.record(now - preLayoutNanos);
+        for (int i = 0; i < pendingCount; i++) {
+            latency.record(now - pending[i]);
+        }
+        pendingCount = 0;
+    }
+
+    private void updateHud() {
+        hud.setText(String.join("\n",
+                line("latency", latency),
+                line("  queue", queue),
+                line("  engine", engine),
+                line("  fan-out", fanOut),
+                line("  paint", paint),
+                line("  layout", layout),
+                line("frame", frame),
+                String.format("%-9s last %7d  max %7d", "cells", lastFrameCells, maxFrameCells)));
+    }
+
+    private static String line(String name, LatencyHistogram histogram) {
+        return String.format("%-9s p50 %7.2f  p99 %7.2f  max %7.2f ms", name,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getMax() / NANOS_PER_MILLI);
+    }
+
+    private static Label hudLabel() {
+        var label = new Label();
+        label.setFont(Font.font("Monospaced", 12));
+        label.setTextFill(Color.WHITE);
+        label.setBackground(new Background(new BackgroundFill(Color.rgb(0, 0, 0, 0.6), null, null)));
+        label.setPadding(new Insets(6));
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        return label;
+    }
+}
@@ -5,7 +5,6 @@
 package org.panteleyev.sapper;
 
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 
 import static java.util.Objects.requireNonNull;
 
@@ -26,11 +25,4 @@ public enum Picture {
     public Image getImage() {
         return image;
     }
-
-    public static ImageView imageView(Picture picture, int width, int height) {
-        var view = new ImageView(picture.image);
-        view.setFitWidth(width);
-        view.setFitHeight(height);
-        return view;
-    }
 }
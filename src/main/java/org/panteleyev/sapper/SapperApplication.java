@@ -6,25 +6,66 @@ import javafx.application.Application;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+
 import static java.util.Objects.requireNonNull;
 import static org.panteleyev.sapper.GlobalContext.files;
+import static org.panteleyev.sapper.GlobalContext.metrics;
 import static org.panteleyev.sapper.GlobalContext.scoreboard;
 import static org.panteleyev.sapper.GlobalContext.settings;
 
 public class SapperApplication extends Application {
     private static final int FONT_SIZE = 14;
+    private static final String STARTUP_REPORT_OPTION = "--startup-report";
+
+    private final StartupPipeline startup = new StartupPipeline();
+    // Settings, fonts and images needed by the window
+    private CompletableFuture<Void> windowState;
+    // Scores are needed after the first game is won, window is shown without waiting for them
+    private CompletableFuture<Void> scoresLoaded;
+    private SapperWindowController controller;
+
+    @Override
+    public void init() {
+        startup.step("metrics", () -> metrics().register());
+        var files = startup.step("files", () -> files().initialize().throwIfFailure());
+        var settings = startup.step("settings", () -> settings().load(), files);
+        scoresLoaded = startup.step("scores", () -> scoreboard().load(), files);
+
+        var fonts = startup.step("fonts", () -> {
+            Font.loadFont(getResourceUrl("/fonts/mine-sweeper.ttf"), FONT_SIZE);
+            Font.loadFont(getResourceUrl("/fonts/Pixel-LCD-7.ttf"), FONT_SIZE);
+        });
+        // Images are decoded when the enum is initialized
+        var images = startup.step("images", Picture::values);
+
+        windowState = CompletableFuture.allOf(settings, fonts, images);
+    }
 
     @Override
     public void start(Stage stage) {
-        files().initialize().throwIfFailure();
-        scoreboard().load();
-        settings().load();
+        StartupPipeline.await(windowState);
+        startup.run("window", () -> controller = new SapperWindowController(stage, scoresLoaded));
+        startup.run("show", stage::show);
+
+        metrics().onStartupCompleted(ManagementFactory.getRuntimeMXBean().getUptime());
 
-        Font.loadFont(getResourceUrl("/fonts/mine-sweeper.ttf"), FONT_SIZE);
-        Font.loadFont(getResourceUrl("/fonts/Pixel-LCD-7.ttf"), FONT_SIZE);
+        var finished = startup.whenFinished();
+        if (getParameters().getRaw().contains(STARTUP_REPORT_OPTION)) {
+            finished.whenComplete((_, _) -> System.out.print(startup.report()));
+        }
+    }
+
+    SapperWindowController getController() {
+        return controller;
+    }
 
-        new SapperWindowController(stage);
-        stage.show();
+    /**
+     * Returns completion of startup steps that continue after the window is shown.
+     */
+    CompletableFuture<Void> whenStarted() {
+        return startup.whenFinished();
     }
 
     static void main(String[] args) {
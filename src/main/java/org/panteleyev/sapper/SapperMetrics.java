@@ -0,0 +1,176 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics updated by the engine and the UI. Thread safe.
+ */
+public final class SapperMetrics implements SapperMetricsMXBean {
+    static final String OBJECT_NAME = "org.panteleyev.sapper:type=Metrics";
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final ConcurrentMap<BoardSize, LongAdder> gamesStarted = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BoardSize, LongAdder> gamesWon = new ConcurrentHashMap<>();
+    private final ConcurrentMap<BoardSize, LongAdder> gamesLost = new ConcurrentHashMap<>();
+
+    // Reveals, counts per second of the rate window are kept in a ring
+    private long reveals;
+    private int largestReveal;
+    private long revealNanos;
+    private long maxRevealNanos;
+    private final long[] rateSeconds = new long[RATE_WINDOW_SECONDS];
+    private final long[] rateCounts = new long[RATE_WINDOW_SECONDS];
+
+    private long scoreWrites;
+    private long scoreWriteNanos;
+    private long maxScoreWriteNanos;
+    private long scoreFileBytes;
+
+    private volatile long lastStartupMillis;
+
+    /**
+     * Registers metrics with the platform MBean server.
+     */
+    void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    void onStatusChanged(BoardSize boardSize, GameStatus status) {
+        var counters = switch (status) {
+            case IN_PROGRESS -> gamesStarted;
+            case SUCCESS -> gamesWon;
+            case FAILURE -> gamesLost;
+            case INITIAL -> null;
+        };
+        if (counters != null) {
+            counters.computeIfAbsent(boardSize, _ -> new LongAdder()).increment();
+        }
+    }
+
+    synchronized void onReveal(int cells, long nanos) {
+        reveals++;
+        largestReveal = Math.max(largestReveal, cells);
+        revealNanos += nanos;
+        maxRevealNanos = Math.max(maxRevealNanos, nanos);
+
+        var second = currentSecond();
+        var slot = Math.floorMod(second, RATE_WINDOW_SECONDS);
+        if (rateSeconds[slot] != second) {
+            rateSeconds[slot] = second;
+            rateCounts[slot] = 0;
+        }
+        rateCounts[slot]++;
+    }
+
+    synchronized void onScoresWritten(long nanos, long bytes) {
+        scoreWrites++;
+        scoreWriteNanos += nanos;
+        maxScoreWriteNanos = Math.max(maxScoreWriteNanos, nanos);
+        scoreFileBytes = bytes;
+    }
+
+    void onStartupCompleted(long millis) {
+        lastStartupMillis = millis;
+    }
+
+    @Override
+    public Map<String, Long> getGamesStarted() {
+        return snapshot(gamesStarted);
+    }
+
+    @Override
+    public Map<String, Long> getGamesWon() {
+        return snapshot(gamesWon);
+    }
+
+    @Override
+    public Map<String, Long> getGamesLost() {
+        return snapshot(gamesLost);
+    }
+
+    @Override
+    public synchronized long getReveals() {
+        return reveals;
+    }
+
+    @Override
+    public synchronized double getRevealsPerSecond() {
+        var second = currentSecond();
+        var count = 0L;
+        for (int slot = 0; slot < RATE_WINDOW_SECONDS; slot++) {
+            if (second - rateSeconds[slot] < RATE_WINDOW_SECONDS) {
+                count += rateCounts[slot];
+            }
+        }
+        return (double) count / RATE_WINDOW_SECONDS;
+    }
+
+    @Override
+    public synchronized int getLargestReveal() {
+        return largestReveal;
+    }
+
+    @Override
+    public synchronized double getAverageRevealMillis() {
+        return reveals == 0 ? 0 : revealNanos / NANOS_PER_MILLI / reveals;
+    }
+
+    @Override
+    public synchronized double getMaxRevealMillis() {
+        return maxRevealNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized long getScoreWrites() {
+        return scoreWrites;
+    }
+
+    @Override
+    public synchronized double getAverageScoreWriteMillis() {
+        return scoreWrites == 0 ? 0 : scoreWriteNanos / NANOS_PER_MILLI / scoreWrites;
+    }
+
+    @Override
+    public synchronized double getMaxScoreWriteMillis() {
+        return maxScoreWriteNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized long getScoreFileBytes() {
+        return scoreFileBytes;
+    }
+
+    @Override
+    public long getLastStartupMillis() {
+        return lastStartupMillis;
+    }
+
+    private static Map<String, Long> snapshot(Map<BoardSize, LongAdder> counters) {
+        var result = new TreeMap<String, Long>();
+        counters.forEach((boardSize, counter) -> result.put(boardSize.toString(), counter.sum()));
+        return result;
+    }
+
+    private static long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+    }
+}
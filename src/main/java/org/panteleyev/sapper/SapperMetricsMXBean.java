@@ -0,0 +1,49 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import java.util.Map;
+
+/**
+ * Live metrics of the running application registered as {@value SapperMetrics#OBJECT_NAME}. Game counters are keyed
+ * by board size.
+ */
+public interface SapperMetricsMXBean {
+    Map<String, Long> getGamesStarted();
+
+    Map<String, Long> getGamesWon();
+
+    Map<String, Long> getGamesLost();
+
+    long getReveals();
+
+    /**
+     * Average rate over the last minute.
+     */
+    double getRevealsPerSecond();
+
+    /**
+     * Number of cells opened by the largest single move.
+     */
+    int getLargestReveal();
+
+    /**
+     * Engine time of a move that opened cells.
+     */
+    double getAverageRevealMillis();
+
+    double getMaxRevealMillis();
+
+    long getScoreWrites();
+
+    double getAverageScoreWriteMillis();
+
+    double getMaxScoreWriteMillis();
+
+    long getScoreFileBytes();
+
+    /**
+     * Time from JVM start to the main window shown.
+     */
+    long getLastStartupMillis();
+}
@@ -2,8 +2,8 @@
 // SPDX-License-Identifier: BSD-2-Clause
 package org.panteleyev.sapper;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
-import javafx.event.Event;
 import javafx.event.EventHandler;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
@@ -14,14 +14,13 @@ import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.SeparatorMenuItem;
-import javafx.scene.control.ToggleButton;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCodeCombination;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.ColumnConstraints;
-import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -30,14 +29,15 @@ import javafx.stage.WindowEvent;
 import org.panteleyev.fx.Controller;
 import org.panteleyev.sapper.game.BoardSize;
 import org.panteleyev.sapper.game.Cell;
-import org.panteleyev.sapper.game.Game;
 import org.panteleyev.sapper.game.GameStatus;
 import org.panteleyev.sapper.score.GameScore;
 import org.panteleyev.sapper.score.ScoreBoardDialog;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Objects.requireNonNull;
 import static org.panteleyev.fx.factories.MenuFactory.menu;
@@ -49,12 +49,14 @@ import static org.panteleyev.fx.factories.grid.GridPaneFactory.gridPane;
 import static org.panteleyev.fx.factories.grid.GridRow.gridRow;
 import static org.panteleyev.sapper.Constants.APP_TITLE;
 import static org.panteleyev.sapper.Constants.UI;
+import static org.panteleyev.sapper.GlobalContext.metrics;
 import static org.panteleyev.sapper.GlobalContext.scoreboard;
 import static org.panteleyev.sapper.GlobalContext.settings;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_CUSTOM_GAME;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_LARGE_GAME;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_MEDIUM_GAME;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_NEW_GAME;
+import static org.panteleyev.sapper.Shortcuts.SHORTCUT_PERFORMANCE_HUD;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_RESULTS;
 import static org.panteleyev.sapper.Shortcuts.SHORTCUT_SMALL_GAME;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_ABOUT;
@@ -68,17 +70,9 @@ import static org.panteleyev.sapper.bundles.Internationalization.I18N_NEW;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_RESULTS;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_SMALL_GAME;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_USER_GAME;
-import static org.panteleyev.sapper.game.BoardSize.MAX_HEIGHT;
-import static org.panteleyev.sapper.game.BoardSize.MAX_WIDTH;
 import static org.panteleyev.sapper.game.BoardSize.STANDARD_SIZES;
 
-public class SapperWindowController extends Controller implements Game.CellChangeCallback, Game.GameStatusChangeCallback {
-    private static final int CELL_SIZE = 40;
-    private static final int IMAGE_SIZE = 24;
-
-    private static final String CELL_FONT_FAMILY = "Mine-Sweeper";
-    private static final double CELL_FONT_SIZE = 20;
-
+public class SapperWindowController extends Controller {
     private static final String IND_FONT_FAMILY = "Pixel LCD7";
     private static final double IND_FONT_SIZE = 28;
 
@@ -97,44 +91,38 @@ public class SapperWindowController extends Controller implements Game.CellChang
     );
 
     private BoardSize boardSize = BoardSize.BIG;
-    private final Game game = new Game(this, this);
-    private final ToggleButton[] buttons = new ToggleButton[MAX_WIDTH * MAX_HEIGHT];
+    // Game runs on the engine thread, the window keeps values of cells and game status it has received so far
+    private final GameEngine engine = new GameEngine(this::onBatch, Platform::runLater, metrics());
+    private byte[] values = new byte[0];
+    private GameStatus gameStatus = GameStatus.INITIAL;
+
+    private final BoardCanvas boardCanvas = new BoardCanvas();
+    private final PerformanceMonitor performanceMonitor = new PerformanceMonitor();
 
     private final Font indicatorFont = Font.font(IND_FONT_FAMILY, FontWeight.BOLD, IND_FONT_SIZE);
 
     private final Label remainingMinesLabel = counterLabel(indicatorFont);
     private final ImageView controlButtonImageView = controlButtonImageView();
-    private final GridPane grid = new GridPane();
 
     private final Menu customGameMenu = menu(string(UI, I18N_USER_GAME, ELLIPSIS));
     private final MenuItem newCustomGameMenuItem = newCustomGameMenuItem();
 
-    private static final Color[] NUMBER_COLORS = {
-            null,
-            Color.BLUE,
-            Color.GREEN,
-            Color.RED,
-            Color.DARKBLUE,
-            Color.BROWN,
-            Color.rgb(0x00, 0x80, 0x80),
-            Color.BLACK,
-            Color.GRAY
-    };
-
     private final GameTimer timer = new GameTimer();
-
-    private static final Insets ZERO_INSETS = new Insets(0);
+    private GameListener gameListener = GameListener.NONE;
+    private final CompletableFuture<?> scoresLoaded;
 
     public SapperWindowController(Stage stage) {
+        this(stage, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * @param scoresLoaded completion of scoreboard loading, the scoreboard is not used until then
+     */
+    SapperWindowController(Stage stage, CompletableFuture<?> scoresLoaded) {
         super(stage, null);
-        stage.setResizable(false);
+        this.scoresLoaded = scoresLoaded;
         stage.getIcons().add(Picture.ICON.getImage());
-
-        var cellFont = Font.font(CELL_FONT_FAMILY, FontWeight.BOLD, CELL_FONT_SIZE);
-
-        for (int x = 0; x < buttons.length; x++) {
-            buttons[x] = createCellButton(x, cellFont, this::onButtonPress);
-        }
+        stage.iconifiedProperty().addListener((_, _, iconified) -> timer.setPaused(iconified));
 
         var toolBar = gridPane(
                 List.of(gridRow(
@@ -144,16 +132,29 @@ public class SapperWindowController extends Controller implements Game.CellChang
                 List.of(constraints(HPos.LEFT), constraints(HPos.CENTER), constraints(HPos.RIGHT))
         );
 
-        var innerPane = new BorderPane(grid, toolBar, null, null, null);
+        boardCanvas.setOnMouseReleased(this::onBoardMouseReleased);
+        boardCanvas.setFrameBudget(settings().getRevealFrameBudget());
+
+        boardCanvas.setPaintListener(performanceMonitor);
+        var boardPane = new StackPane(boardCanvas, performanceMonitor.getHud());
+        StackPane.setAlignment(performanceMonitor.getHud(), Pos.TOP_LEFT);
+
+        var innerPane = new BorderPane(boardPane, toolBar, null, null, null);
 
         remainingMinesLabel.setAlignment(Pos.CENTER_LEFT);
         BorderPane.setMargin(toolBar, new Insets(10));
 
         setupWindow(new BorderPane(innerPane, createMainMenu(), null, null, null));
         addAccelerator(SHORTCUT_NEW_GAME, () -> newGame(boardSize));
+        addAccelerator(SHORTCUT_PERFORMANCE_HUD, performanceMonitor::toggleHud);
+        performanceMonitor.attach(getStage().getScene());
 
         newGame(settings().getLastBoardSize());
         stage.centerOnScreen();
+
+        if (!scoresLoaded.isDone()) {
+            scoresLoaded.whenCompleteAsync((_, _) -> buildCustomGamesMenu(), Platform::runLater);
+        }
     }
 
     @Override
@@ -162,32 +163,61 @@ public class SapperWindowController extends Controller implements Game.CellChang
     }
 
     private void newGame(BoardSize boardSize) {
+        startGame(boardSize, engine.newGame(boardSize));
+    }
+
+    /**
+     * Starts new game with the given mines, used to replay recorded sessions.
+     */
+    void newGame(BoardSize boardSize, long seed) {
+        engine.newGame(boardSize, seed);
+        startGame(boardSize, seed);
+    }
+
+    private void startGame(BoardSize boardSize, long seed) {
         controlButtonImageView.setImage(Picture.SMILING_FACE.getImage());
 
+        var resized = !boardSize.equals(this.boardSize);
         this.boardSize = boardSize;
-        game.newGame(boardSize);
-        initButtons();
+        gameListener.gameStarted(boardSize, seed);
+        gameStatus = GameStatus.INITIAL;
+        if (values.length != boardSize.cells()) {
+            values = new byte[boardSize.cells()];
+        }
+        Arrays.fill(values, (byte) Cell.INITIAL);
+        boardCanvas.setBoard(boardSize.width(), boardSize.height(), values);
 
         timer.stop();
         timer.reset();
 
         remainingMinesLabel.setText(Integer.toString(boardSize.mines()));
-        getStage().sizeToScene();
+        // Window size chosen by user is kept while board size is the same
+        if (resized) {
+            getStage().sizeToScene();
+        }
     }
 
-    private void onCustomGame() {
-        new BoardSizeDialog(this).showAndWait().ifPresent(this::newGame);
+    /**
+     * Installs listener of games played in the window, used to record sessions.
+     */
+    void setGameListener(GameListener gameListener) {
+        this.gameListener = requireNonNull(gameListener);
     }
 
-    private void initButtons() {
-        grid.getChildren().clear();
+    GameStatus getGameStatus() {
+        return gameStatus;
+    }
 
-        var index = 0;
-        for (var y = 0; y < boardSize.height(); y++) {
-            for (var x = 0; x < boardSize.width(); x++) {
-                grid.add(resetCellButton(buttons[index++]), x, y);
-            }
-        }
+    /**
+     * Runs action on the FX application thread once all commands submitted so far are executed and their results
+     * are applied.
+     */
+    void whenIdle(Runnable action) {
+        engine.execute(() -> Platform.runLater(action));
+    }
+
+    private void onCustomGame() {
+        new BoardSizeDialog(this).showAndWait().ifPresent(this::newGame);
     }
 
     private MenuBar createMainMenu() {
@@ -213,6 +243,7 @@ public class SapperWindowController extends Controller implements Game.CellChang
     private void buildCustomGamesMenu() {
         customGameMenu.getItems().clear();
         customGameMenu.getItems().add(newCustomGameMenuItem);
+        if (!scoresLoaded.isDone()) return;
 
         var customSizes = scoreboard().getBoardSizes().stream()
                 .filter(s -> !STANDARD_SIZES.contains(s))
@@ -227,99 +258,97 @@ public class SapperWindowController extends Controller implements Game.CellChang
         }
     }
 
-    private void renderSuccess() {
-        timer.stop();
-
-        for (var button : buttons) {
-            button.setDisable(true);
+    /**
+     * @param finished {@link System#nanoTime()} when the engine applied the final hit
+     */
+    private void renderSuccess(long finished) {
+        timer.stop(finished);
+        controlButtonImageView.setImage(Picture.LAUGHING_FACE.getImage());
+        var gameScore = new GameScore(boardSize, LocalDate.now(), timer.getElapsed());
+        if (scoresLoaded.isDone()) {
+            addScore(gameScore);
+        } else {
+            scoresLoaded.whenCompleteAsync((_, _) -> addScore(gameScore), Platform::runLater);
         }
+    }
 
-        controlButtonImageView.setImage(Picture.LAUGHING_FACE.getImage());
-        var gameScore = new GameScore(boardSize, LocalDate.now(), timer.getLocalTime());
+    private void addScore(GameScore gameScore) {
         var top = scoreboard().add(gameScore);
-        scoreboard().save();
+        engine.execute(() -> saveScore(gameScore));
         buildCustomGamesMenu();
         if (top) {
-            new ScoreBoardDialog(this, boardSize).showAndWait();
+            new ScoreBoardDialog(this, gameScore.boardSize()).showAndWait();
         }
     }
 
-    private void renderFailure(int clickPoint) {
-        timer.stop();
+    private void renderFailure(long finished, int clickPoint, int[] revealCells, int[] revealValues) {
+        timer.stop(finished);
         controlButtonImageView.setImage(Picture.SAD_FACE.getImage());
 
-        for (int x = 0; x < game.getSize(); x++) {
-            var value = game.getValue(x);
-            var button = buttons[x];
-            button.setDisable(true);
-
-            if (x == clickPoint) {
-                button.setText("*");
-                button.setTextFill(Color.RED);
-            } else {
-                if (Cell.emptyWithFlag(value)) {
-                    button.setText(null);
-                    button.setGraphic(Picture.imageView(Picture.BLACK_FLAG, IMAGE_SIZE, IMAGE_SIZE));
-                }
-
-                if (Cell.mineNoFlag(value)) {
-                    button.setText("*");
-                    button.setGraphic(null);
-                }
-            }
+        boardCanvas.showMines(clickPoint);
+        for (int i = 0; i < revealCells.length; i++) {
+            values[revealCells[i]] = (byte) revealValues[i];
+            boardCanvas.invalidate(revealCells[i]);
         }
     }
 
-    @Override
-    public void onCellChanged(int x, int newValue) {
-        var button = buttons[x];
-
-        if (Cell.flag(newValue)) {
-            button.setText(null);
-            button.setGraphic(Picture.imageView(Picture.RED_FLAG, IMAGE_SIZE, IMAGE_SIZE));
-        } else if (Cell.isExplored(newValue)) {
-            button.setGraphic(null);
-            button.setSelected(true);
-            button.setDisable(true);
-
-            if (newValue == 0) {
-                button.setText(null);
-            } else {
-                button.setText(Integer.toString(newValue));
-                button.setTextFill(NUMBER_COLORS[newValue]);
-            }
-        } else {
-            button.setText(null);
-            button.setGraphic(null);
+    private void onBatch(GameEngine.Batch batch) {
+        if (batch.cells().length > 0) {
+            // The first changed cell is the one hit
+            boardCanvas.rippleFrom(batch.cells()[0]);
         }
-    }
-
-    @Override
-    public void onGameStatusChanged(int x, GameStatus newStatus) {
-        switch (newStatus) {
-            case SUCCESS -> renderSuccess();
-            case FAILURE -> renderFailure(x);
-            case IN_PROGRESS -> timer.start();
+        for (int i = 0; i < batch.cells().length; i++) {
+            var x = batch.cells()[i];
+            values[x] = (byte) batch.values()[i];
+            boardCanvas.invalidate(x);
+        }
+        remainingMinesLabel.setText(Integer.toString(batch.remainingMines()));
+        // Before status changes, these may open dialogs
+        performanceMonitor.onBatchApplied(batch.timing());
+
+        for (var change : batch.statusChanges()) {
+            gameStatus = change.status();
+            if (gameStatus.isFinal()) {
+                gameListener.gameFinished(gameStatus);
+            }
+            switch (change.status()) {
+                // Game time does not include engine queue and delivery delays
+                case SUCCESS -> renderSuccess(batch.timing().finished());
+                case FAILURE -> renderFailure(batch.timing().finished(), change.x(), batch.revealCells(),
+                        batch.revealValues());
+                case IN_PROGRESS -> timer.start(batch.timing().finished());
+            }
         }
     }
 
-    private void onButtonPress(MouseEvent event) {
+    private void onBoardMouseReleased(MouseEvent event) {
         event.consume();
 
-        if (game.getGameStatus().isFinal()) return;
+        if (gameStatus.isFinal()) return;
 
-        if (event.getSource() instanceof ToggleButton button
-                && button.getUserData() instanceof Integer hitPoint) {
-            if (event.getButton() == MouseButton.SECONDARY) {
-                game.toggleFlag(hitPoint);
-            } else {
-                game.processHit(hitPoint);
-            }
+        var hitPoint = boardCanvas.cellAt(event.getX(), event.getY());
+        if (hitPoint < 0) return;
 
-            remainingMinesLabel.setText(Integer.toString(game.getRemainingMines()));
+        gameListener.cellClicked(hitPoint, event.getButton());
+        if (Cell.isExplored(values[hitPoint])) {
+            // Chord only around numbers the player can see, cells of a ripple in progress may still look covered
+            if (event.getButton() != MouseButton.SECONDARY && boardCanvas.isPaintedOpen(hitPoint)) {
+                engine.chord(hitPoint);
+            }
+        } else if (event.getButton() == MouseButton.SECONDARY) {
+            engine.toggleFlag(hitPoint);
+        } else {
+            engine.processHit(hitPoint);
         }
     }
 
+    private static void saveScore(GameScore gameScore) {
+        var start = System.nanoTime();
+        scoreboard().save(gameScore);
+        var nanos = System.nanoTime() - start;
+        metrics().onScoresWritten(nanos, scoreboard().getStorageSize());
+    }
+
     private void onExit() {
         getStage().fireEvent(new WindowEvent(getStage(), WindowEvent.WINDOW_CLOSE_REQUEST));
     }
@@ -327,6 +356,7 @@ public class SapperWindowController extends Controller implements Game.CellChang
     @Override
     protected void onWindowHiding() {
         super.onWindowHiding();
+        engine.close();
         settings().update(settings -> settings.setLastBoardSize(boardSize));
     }
 
@@ -358,30 +388,6 @@ public class SapperWindowController extends Controller implements Game.CellChang
         return constraints;
     }
 
-    private static ToggleButton createCellButton(int index, Font font, EventHandler<MouseEvent> eventHandler) {
-        var button = new ToggleButton();
-        button.setFont(font);
-        button.setPadding(ZERO_INSETS);
-        button.setOpacity(1);
-        button.setPrefSize(CELL_SIZE, CELL_SIZE);
-        button.setMaxSize(CELL_SIZE, CELL_SIZE);
-        button.setMinSize(CELL_SIZE, CELL_SIZE);
-        button.setFocusTraversable(false);
-        button.setUserData(index);
-        button.addEventFilter(MouseEvent.MOUSE_CLICKED, Event::consume);
-        button.addEventFilter(MouseEvent.MOUSE_RELEASED, eventHandler);
-        return button;
-    }
-
-    private static ToggleButton resetCellButton(ToggleButton button) {
-        button.setDisable(false);
-        button.setSelected(false);
-        button.setText(null);
-        button.setGraphic(null);
-        button.setTextFill(Color.BLACK);
-        return button;
-    }
-
     private static ImageView controlButtonImageView() {
         var imageView = new ImageView(Picture.SMILING_FACE.getImage());
         imageView.setFitWidth(CTRL_BUTTON_IMAGE_SIZE);
@@ -0,0 +1,87 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.scene.input.MouseButton;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+import org.w3c.dom.Element;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static org.panteleyev.sapper.XMLUtils.appendElement;
+import static org.panteleyev.sapper.XMLUtils.createDocument;
+import static org.panteleyev.sapper.XMLUtils.readDocument;
+import static org.panteleyev.sapper.XMLUtils.writeDocument;
+
+/**
+ * Recorded game: board, seed of its mines and clicks on the board in order. Replaying the clicks on a board with the
+ * same seed reproduces the game.
+ *
+ * @param result status the game ended with
+ */
+record Session(BoardSize boardSize, long seed, List<Click> clicks, GameStatus result) {
+    record Click(int cell, MouseButton button) {
+    }
+
+    private static final String XML_ROOT = "Session";
+    private static final String XML_CLICK = "Click";
+
+    private static final String ATTR_WIDTH = "width";
+    private static final String ATTR_HEIGHT = "height";
+    private static final String ATTR_MINES = "mines";
+    private static final String ATTR_SEED = "seed";
+    private static final String ATTR_RESULT = "result";
+    private static final String ATTR_CELL = "cell";
+    private static final String ATTR_BUTTON = "button";
+
+    Session {
+        clicks = List.copyOf(clicks);
+    }
+
+    void write(OutputStream outputStream) {
+        var root = createDocument(XML_ROOT);
+        root.setAttribute(ATTR_WIDTH, Integer.toString(boardSize.width()));
+        root.setAttribute(ATTR_HEIGHT, Integer.toString(boardSize.height()));
+        root.setAttribute(ATTR_MINES, Integer.toString(boardSize.mines()));
+        root.setAttribute(ATTR_SEED, Long.toString(seed));
+        root.setAttribute(ATTR_RESULT, result.name());
+
+        for (var click : clicks) {
+            var clickNode = appendElement(root, XML_CLICK);
+            clickNode.setAttribute(ATTR_CELL, Integer.toString(click.cell()));
+            clickNode.setAttribute(ATTR_BUTTON, click.button().name());
+        }
+
+        writeDocument(root.getOwnerDocument(), outputStream);
+    }
+
+    static Session read(InputStream inputStream) {
+        var root = readDocument(inputStream);
+        var boardSize = new BoardSize(
+                parseInt(root.getAttribute(ATTR_WIDTH)),
+                parseInt(root.getAttribute(ATTR_HEIGHT)),
+                parseInt(root.getAttribute(ATTR_MINES))
+        );
+
+        var clicks = new ArrayList<Click>();
+        var nodes = root.getElementsByTagName(XML_CLICK);
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i) instanceof Element e) {
+                var cell = parseInt(e.getAttribute(ATTR_CELL));
+                if (cell < 0 || cell >= boardSize.cells()) {
+                    throw new IllegalArgumentException("Click outside the board: " + cell);
+                }
+                clicks.add(new Click(cell, MouseButton.valueOf(e.getAttribute(ATTR_BUTTON))));
+            }
+        }
+
+        return new Session(boardSize, parseLong(root.getAttribute(ATTR_SEED)), clicks,
+                GameStatus.valueOf(root.getAttribute(ATTR_RESULT)));
+    }
+}
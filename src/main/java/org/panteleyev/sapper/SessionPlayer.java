@@ -0,0 +1,130 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Window;
+import org.panteleyev.sapper.game.GameStatus;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Plays recorded sessions on the game window without user input. Clicks are fired at the board one per pulse, each
+ * after results of the previous one are applied. Dialogs opened by the window are closed as soon as they are shown.
+ * <p>
+ * Must be used from the FX application thread.
+ */
+final class SessionPlayer {
+    private final SapperWindowController controller;
+    private final BoardCanvas canvas;
+
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (!waiting) {
+                fireNextClick();
+            }
+        }
+    };
+
+    private Session session;
+    private int click;
+    private boolean waiting;
+    private CompletableFuture<GameStatus> result;
+
+    SessionPlayer(SapperWindowController controller) {
+        this.controller = controller;
+        var stage = controller.getStage();
+        canvas = findCanvas(stage.getScene().getRoot());
+        if (canvas == null) {
+            throw new IllegalArgumentException("Window has no board");
+        }
+
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> {
+            while (change.next()) {
+                for (var window : change.getAddedSubList()) {
+                    if (window != stage) {
+                        Platform.runLater(window::hide);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Fires the first click of the session immediately, the rest on the next pulses. Game of the session must be
+     * started by {@link SapperWindowController#newGame(org.panteleyev.sapper.game.BoardSize, long)}.
+     *
+     * @return status of the game once the last click is applied, completed on the FX application thread
+     */
+    CompletableFuture<GameStatus> play(Session session) {
+        this.session = session;
+        click = 0;
+        result = new CompletableFuture<>();
+        if (session.clicks().isEmpty()) {
+            result.complete(controller.getGameStatus());
+        } else {
+            fireNextClick();
+            pulseTimer.start();
+        }
+        return result;
+    }
+
+    private void fireNextClick() {
+        fireClick(session.clicks().get(click));
+        waiting = true;
+        controller.whenIdle(this::onIdle);
+    }
+
+    private void onIdle() {
+        waiting = false;
+        if (++click == session.clicks().size()) {
+            pulseTimer.stop();
+            result.complete(controller.getGameStatus());
+        }
+    }
+
+    private void fireClick(Session.Click click) {
+        var point = canvas.localToScene(canvas.showCell(click.cell()));
+        var screen = canvas.getScene().getRoot().localToScreen(point);
+        fireMouseEvent(MouseEvent.MOUSE_PRESSED, point, screen, click.button(), true);
+        fireMouseEvent(MouseEvent.MOUSE_RELEASED, point, screen, click.button(), false);
+    }
+
+    private void fireMouseEvent(
+            EventType<MouseEvent> type,
+            Point2D point,
+            Point2D screen,
+            MouseButton button,
+            boolean down)
+    {
+        Event.fireEvent(canvas, new MouseEvent(type, point.getX(), point.getY(), screen.getX(), screen.getY(),
+                button, 1, false, false, false, false,
+                down && button == MouseButton.PRIMARY, down && button == MouseButton.MIDDLE,
+                down && button == MouseButton.SECONDARY, false, false, true, null));
+    }
+
+    private static BoardCanvas findCanvas(Node node) {
+        if (node instanceof BoardCanvas canvas) {
+            return canvas;
+        }
+        if (node instanceof Parent parent) {
+            for (var child : parent.getChildrenUnmodifiable()) {
+                var canvas = findCanvas(child);
+                if (canvas != null) {
+                    return canvas;
+                }
+            }
+        }
+        return null;
+    }
+}
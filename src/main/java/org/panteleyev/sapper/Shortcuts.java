@@ -5,6 +5,7 @@ package org.panteleyev.sapper;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
 
+import static javafx.scene.input.KeyCombination.SHIFT_DOWN;
 import static javafx.scene.input.KeyCombination.SHORTCUT_DOWN;
 
 public final class Shortcuts {
@@ -18,6 +19,9 @@ public final class Shortcuts {
     public static final KeyCodeCombination SHORTCUT_MEDIUM_GAME = new KeyCodeCombination(KeyCode.M, SHORTCUT_DOWN);
     public static final KeyCodeCombination SHORTCUT_SMALL_GAME = new KeyCodeCombination(KeyCode.S, SHORTCUT_DOWN);
 
+    public static final KeyCodeCombination SHORTCUT_PERFORMANCE_HUD =
+            new KeyCodeCombination(KeyCode.P, SHORTCUT_DOWN, SHIFT_DOWN);
+
     private Shortcuts() {
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Transform;
+
+/**
+ * All looks of a cell pre-rendered side by side into one image. Sprites are rendered in device pixels of the given
+ * output scale, so drawing a cell is a single image blit.
+ * <p>
+ * Atlas must be created on the FX application thread after fonts are loaded.
+ */
+final class SpriteAtlas {
+    // Looks of cells, opened cells are their numbers
+    static final int COVERED = 9;
+    static final int FLAG = 10;
+    static final int WRONG_FLAG = 11;
+    static final int MINE = 12;
+    static final int EXPLODED = 13;
+    static final int LOOKS = 14;
+
+    private static final double IMAGE_RATIO = 0.6;
+    private static final double BEVEL_RATIO = 0.05;
+    private static final String CELL_FONT_FAMILY = "Mine-Sweeper";
+    private static final double CELL_FONT_RATIO = 0.5;
+
+    static final Color BACKGROUND_COLOR = Color.rgb(0x90, 0x90, 0x90);
+    private static final Color COVERED_COLOR = Color.rgb(0xD4, 0xD4, 0xD4);
+    private static final Color OPENED_COLOR = Color.rgb(0xEE, 0xEE, 0xEE);
+    private static final Color LIGHT_EDGE_COLOR = Color.WHITE;
+    private static final Color DARK_EDGE_COLOR = Color.rgb(0x80, 0x80, 0x80);
+    private static final Color GRID_COLOR = Color.rgb(0xB0, 0xB0, 0xB0);
+
+    private static final Color[] NUMBER_COLORS = {
+            null,
+            Color.BLUE,
+            Color.GREEN,
+            Color.RED,
+            Color.DARKBLUE,
+            Color.BROWN,
+            Color.rgb(0x00, 0x80, 0x80),
+            Color.BLACK,
+            Color.GRAY
+    };
+
+    // Colors of looks used when cells are too small for sprites
+    private static final int[] PIXEL_COLORS = pixelColors();
+
+    private final Image image;
+    private final double spriteSize;
+    private final double outputScale;
+    private final double pixelSize;
+
+    /**
+     * @param spriteSize  size of a sprite in logical pixels
+     * @param outputScale output scale of the screen
+     */
+    SpriteAtlas(double spriteSize, double outputScale) {
+        this.spriteSize = spriteSize;
+        this.outputScale = outputScale;
+
+        // Sprites start at whole device pixels at fractional output scales
+        var size = Math.max(1, Math.round(spriteSize * outputScale)) / outputScale;
+
+        var canvas = new Canvas(size * LOOKS, size);
+        var gc = canvas.getGraphicsContext2D();
+        gc.setFont(Font.font(CELL_FONT_FAMILY, FontWeight.BOLD, size * CELL_FONT_RATIO));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int look = 0; look < LOOKS; look++) {
+            paint(gc, look, look * size, size);
+        }
+
+        var parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(outputScale, outputScale));
+        image = canvas.snapshot(parameters, null);
+        pixelSize = image.getWidth() / LOOKS;
+    }
+
+    double getSpriteSize() {
+        return spriteSize;
+    }
+
+    double getOutputScale() {
+        return outputScale;
+    }
+
+    /**
+     * Draws sprite scaled to the rectangle.
+     */
+    void draw(GraphicsContext gc, int look, double left, double top, double width, double height) {
+        gc.drawImage(image, look * pixelSize, 0, pixelSize, pixelSize, left, top, width, height);
+    }
+
+    /**
+     * Returns color of the look in {@code INT_ARGB_PRE} format.
+     */
+    static int pixelColor(int look) {
+        return PIXEL_COLORS[look];
+    }
+
+    static int argb(Color color) {
+        return 0xFF << 24
+                | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8
+                | (int) Math.round(color.getBlue() * 255);
+    }
+
+    private static void paint(GraphicsContext gc, int look, double left, double size) {
+        switch (look) {
+            case COVERED -> paintCovered(gc, left, size);
+            case FLAG -> {
+                paintCovered(gc, left, size);
+                paintImage(gc, Picture.RED_FLAG, left, size);
+            }
+            case WRONG_FLAG -> {
+                paintCovered(gc, left, size);
+                paintImage(gc, Picture.BLACK_FLAG, left, size);
+            }
+            case MINE, EXPLODED -> {
+                paintOpened(gc, left, size);
+                paintText(gc, "*", look == EXPLODED ? Color.RED : Color.BLACK, left, size);
+            }
+            default -> {
+                paintOpened(gc, left, size);
+                if (look != 0) {
+                    paintText(gc, Integer.toString(look), NUMBER_COLORS[look], left, size);
+                }
+            }
+        }
+    }
+
+    private static void paintCovered(GraphicsContext gc, double left, double size) {
+        var bevel = Math.max(1, Math.round(size * BEVEL_RATIO));
+        gc.setFill(LIGHT_EDGE_COLOR);
+        gc.fillRect(left, 0, size, size);
+        gc.setFill(DARK_EDGE_COLOR);
+        gc.fillRect(left + bevel, bevel, size - bevel, size - bevel);
+        gc.setFill(COVERED_COLOR);
+        gc.fillRect(left + bevel, bevel, size - 2 * bevel, size - 2 * bevel);
+    }
+
+    private static void paintOpened(GraphicsContext gc, double left, double size) {
+        gc.setFill(GRID_COLOR);
+        gc.fillRect(left, 0, size, size);
+        gc.setFill(OPENED_COLOR);
+        gc.fillRect(left + 1, 1, size - 1, size - 1);
+    }
+
+    private static void paintText(GraphicsContext gc, String text, Color color, double left, double size) {
+        gc.setFill(color);
+        gc.fillText(text, left + size / 2, size / 2);
+    }
+
+    private static void paintImage(GraphicsContext gc, Picture picture, double left, double size) {
+        var imageSize = Math.round(size * IMAGE_RATIO);
+        var offset = Math.round((size - imageSize) / 2);
+        gc.drawImage(picture.getImage(), left + offset, offset, imageSize, imageSize);
+    }
+
+    private static int[] pixelColors() {
+        var colors = new int[LOOKS];
+        colors[0] = argb(OPENED_COLOR);
+        for (int number = 1; number < NUMBER_COLORS.length; number++) {
+            colors[number] = argb(OPENED_COLOR.interpolate(NUMBER_COLORS[number], 0.5));
+        }
+        colors[COVERED] = argb(COVERED_COLOR);
+        colors[FLAG] = argb(Color.RED);
+        colors[WRONG_FLAG] = argb(Color.DARKRED);
+        colors[MINE] = argb(Color.BLACK);
+        colors[EXPLODED] = argb(Color.RED.darker());
+        return colors;
+    }
+}
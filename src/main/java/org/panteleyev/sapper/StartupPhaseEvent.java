@@ -0,0 +1,16 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.StartupPhase")
+@Label("Startup Phase")
+@Category({"Sapper", "Startup"})
+final class StartupPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,134 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs startup steps on a pool of daemon threads, each step starts as soon as steps it depends on are finished.
+ * Failure of a step fails steps depending on it. Every step, including ones run on the caller thread, is recorded
+ * in the timeline and emitted as {@link StartupPhaseEvent}.
+ */
+final class StartupPipeline {
+    /**
+     * @param start time since JVM start in nanoseconds
+     * @param end   time since JVM start in nanoseconds
+     */
+    record Phase(String name, String thread, long start, long end) {
+    }
+
+    private static final int THREADS = Math.clamp(Runtime.getRuntime().availableProcessors(), 2, 4);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+        var thread = new Thread(runnable, "sapper-startup-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // System.nanoTime() at JVM start
+    private final long origin = System.nanoTime()
+            - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+
+    private final List<Phase> phases = new ArrayList<>();
+    private final List<CompletableFuture<?>> steps = new ArrayList<>();
+
+    /**
+     * Schedules a step.
+     *
+     * @param dependencies steps that must finish before this one
+     * @return completion of the step
+     */
+    CompletableFuture<Void> step(String name, Runnable action, CompletableFuture<?>... dependencies) {
+        var step = CompletableFuture.allOf(dependencies).thenRunAsync(() -> run(name, action), executor);
+        synchronized (steps) {
+            steps.add(step);
+        }
+        return step;
+    }
+
+    /**
+     * Runs a step on the calling thread.
+     */
+    void run(String name, Runnable action) {
+        var event = new StartupPhaseEvent();
+        event.begin();
+        var start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            var end = System.nanoTime();
+            synchronized (phases) {
+                phases.add(new Phase(name, Thread.currentThread().getName(), start - origin, end - origin));
+            }
+            if (event.shouldCommit()) {
+                event.phase = name;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Waits for steps, failure of a step is rethrown as is.
+     */
+    static void await(CompletableFuture<?>... steps) {
+        try {
+            CompletableFuture.allOf(steps).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns completion of all steps scheduled so far. Pool threads are stopped when they are finished.
+     */
+    CompletableFuture<Void> whenFinished() {
+        CompletableFuture<?>[] scheduled;
+        synchronized (steps) {
+            scheduled = steps.toArray(new CompletableFuture<?>[0]);
+        }
+        return CompletableFuture.allOf(scheduled).whenComplete((_, _) -> executor.shutdown());
+    }
+
+    List<Phase> getPhases() {
+        synchronized (phases) {
+            return phases.stream()
+                    .sorted(Comparator.comparingLong(Phase::start))
+                    .toList();
+        }
+    }
+
+    /**
+     * Returns timeline of finished steps as text, one line per step in order of start.
+     */
+    String report() {
+        var report = new StringBuilder("Startup timeline, ms since JVM start\n");
+        report.append(String.format(Locale.ROOT, "%-10s %-18s %9s %9s %9s%n",
+                "phase", "thread", "start", "end", "duration"));
+        for (var phase : getPhases()) {
+            report.append(String.format(Locale.ROOT, "%-10s %-18s %9.1f %9.1f %9.1f%n",
+                    phase.name(), phase.thread(),
+                    phase.start() / NANOS_PER_MILLI,
+                    phase.end() / NANOS_PER_MILLI,
+                    (phase.end() - phase.start()) / NANOS_PER_MILLI));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.application.Platform;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Stage;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.Cell;
+import org.panteleyev.sapper.game.Game;
+import org.panteleyev.sapper.game.Topology;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.panteleyev.sapper.GlobalContext.files;
+import static org.panteleyev.sapper.GlobalContext.scoreboard;
+
+/**
+ * Training run for the AOT cache of the application image. Starts the application the usual way, plays scripted
+ * games on every standard board and a large one, won and lost, saves scores and exits. Requires no user input and
+ * runs on the headless glass platform as well.
+ * <p>
+ * Scores and settings are written to the directory given by {@link ApplicationFiles#DIRECTORY_PROPERTY} or to a new
+ * temporary directory, never to the usual locations.
+ */
+public final class TrainingRun extends SapperApplication {
+    private static final List<BoardSize> BOARD_SIZES = List.of(
+            BoardSize.SMALL,
+            BoardSize.MEDIUM,
+            BoardSize.BIG,
+            new BoardSize(100, 100, 500)
+    );
+    private static final int ROUNDS = 2;
+    private static final long TIMEOUT_MINUTES = 5;
+
+    @Override
+    public void init() {
+        if (System.getProperty(ApplicationFiles.DIRECTORY_PROPERTY) == null) {
+            try {
+                System.setProperty(ApplicationFiles.DIRECTORY_PROPERTY,
+                        Files.createTempDirectory("sapper-training").toString());
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        var directory = Path.of(System.getProperty(ApplicationFiles.DIRECTORY_PROPERTY));
+        if (!files().getPath(ApplicationFiles.AppFile.SETTINGS).startsWith(directory)) {
+            throw new IllegalStateException("Application files are initialized before the training run");
+        }
+        super.init();
+    }
+
+    @Override
+    public void start(Stage stage) {
+        super.start(stage);
+
+        var controller = getController();
+        var player = new SessionPlayer(controller);
+
+        CompletableFuture<?> games = whenStarted();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (var boardSize : BOARD_SIZES) {
+                for (var win : List.of(true, false)) {
+                    var session = script(boardSize, round * 2L + (win ? 0 : 1), win);
+                    games = games.thenComposeAsync(_ -> {
+                        controller.newGame(session.boardSize(), session.seed());
+                        return player.play(session);
+                    }, Platform::runLater);
+                }
+            }
+        }
+
+        games.thenRun(() -> scoreboard().save())
+                .orTimeout(TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .whenCompleteAsync((_, ex) -> {
+                    if (ex != null) {
+                        System.err.println("Training run failed: " + ex);
+                        System.exit(1);
+                    }
+                    Platform.exit();
+                }, Platform::runLater);
+    }
+
+    /**
+     * Builds clicks of a game: open every safe cell flagging some mines on the way, or hit a mine after the first
+     * move.
+     */
+    static Session script(BoardSize boardSize, long seed, boolean win) {
+        var game = new Game((_, _) -> {}, (_, _) -> {});
+        game.newGame(boardSize, Topology.RECTANGULAR, seed);
+
+        var clicks = new ArrayList<Session.Click>();
+        var center = boardSize.height() / 2 * boardSize.width() + boardSize.width() / 2;
+        game.processHit(center);
+        clicks.add(new Session.Click(center, MouseButton.PRIMARY));
+
+        var mines = 0;
+        for (int x = 0; x < game.getSize() && !game.getGameStatus().isFinal(); x++) {
+            var value = game.getValue(x);
+            if (Cell.isExplored(value)) continue;
+
+            if (Cell.mine(value)) {
+                if (!win) {
+                    game.processHit(x);
+                    clicks.add(new Session.Click(x, MouseButton.PRIMARY));
+                } else if (mines++ % 3 == 0) {
+                    game.toggleFlag(x);
+                    clicks.add(new Session.Click(x, MouseButton.SECONDARY));
+                }
+            } else if (win) {
+                game.processHit(x);
+                clicks.add(new Session.Click(x, MouseButton.PRIMARY));
+            }
+        }
+        return new Session(boardSize, seed, clicks, game.getGameStatus());
+    }
+
+    static void main(String[] args) {
+        launch(args);
+    }
+}
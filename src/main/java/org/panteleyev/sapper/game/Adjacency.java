@@ -0,0 +1,142 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precomputed neighbours of every cell of a board of given geometry.
+ * <p>
+ * Cells are split into classes by their position relative to board edges and by row parity. All cells of a class
+ * have the same neighbour offsets, so the table is stored in compressed sparse row form per class: neighbours of
+ * cell {@code x} of class {@code c} are {@code x + deltas[offsets[c]]} to {@code x + deltas[offsets[c + 1] - 1]}.
+ * This takes one byte per cell and makes neighbour walks plain array scans. Tables are built once and shared,
+ * recently used tables are cached.
+ */
+final class Adjacency {
+    private record Key(Topology topology, int width, int height) {
+    }
+
+    private static final int CACHE_SIZE = 4;
+
+    // 3 row classes * 3 column classes * 2 row parities
+    private static final int CLASSES = 18;
+
+    private static final Map<Key, Adjacency> CACHE = new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Adjacency> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final Topology topology;
+    private final int width;
+    private final int height;
+
+    private final byte[] classes;
+    private final int[] offsets = new int[CLASSES + 1];
+    private final int[] deltas;
+
+    private Adjacency(Topology topology, int width, int height) {
+        this.topology = topology;
+        this.width = width;
+        this.height = height;
+
+        var allDeltas = new int[CLASSES * Topology.MAX_NEIGHBOURS];
+        var buffer = new int[Topology.MAX_NEIGHBOURS];
+        var total = 0;
+        for (int c = 0; c < CLASSES; c++) {
+            offsets[c] = total;
+
+            var x = representativeX(c);
+            var y = representativeY(c);
+            if (y < 0) continue;
+
+            var cell = y * width + x;
+            var count = topology.neighbours(x, y, width, height, buffer);
+            for (int i = 0; i < count; i++) {
+                allDeltas[total++] = buffer[i] - cell;
+            }
+        }
+        offsets[CLASSES] = total;
+        deltas = Arrays.copyOf(allDeltas, total);
+
+        classes = new byte[width * height];
+        var cell = 0;
+        for (int y = 0; y < height; y++) {
+            var rowClass = (edgeClass(y, height) * 3) * 2 + (y & 1);
+            for (int x = 0; x < width; x++) {
+                classes[cell++] = (byte) (rowClass + edgeClass(x, width) * 2);
+            }
+        }
+    }
+
+    static Adjacency of(Topology topology, int width, int height) {
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(new Key(topology, width, height),
+                    key -> new Adjacency(key.topology(), key.width(), key.height()));
+        }
+    }
+
+    Topology getTopology() {
+        return topology;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    int getSize() {
+        return classes.length;
+    }
+
+    /**
+     * Collects neighbours of the cell.
+     *
+     * @param result array of at least {@link Topology#MAX_NEIGHBOURS} elements to receive neighbour positions
+     * @return number of neighbours
+     */
+    int neighbours(int cell, int[] result) {
+        var c = classes[cell];
+        var from = offsets[c];
+        var count = offsets[c + 1] - from;
+        for (int i = 0; i < count; i++) {
+            result[i] = cell + deltas[from + i];
+        }
+        return count;
+    }
+
+    /**
+     * 0 - first, 1 - middle, 2 - last.
+     */
+    private static int edgeClass(int pos, int length) {
+        return pos == 0 ? 0 : pos == length - 1 ? 2 : 1;
+    }
+
+    private int representativeX(int c) {
+        return switch ((c >> 1) % 3) {
+            case 0 -> 0;
+            case 1 -> 1;
+            default -> width - 1;
+        };
+    }
+
+    /**
+     * Returns row of the class with required parity or -1 if board has no such row.
+     */
+    private int representativeY(int c) {
+        var parity = c & 1;
+        var y = switch (c / 6) {
+            case 0 -> 0;
+            case 1 -> 2 - parity;
+            default -> height - 1;
+        };
+        return (y & 1) == parity ? y : -1;
+    }
+}
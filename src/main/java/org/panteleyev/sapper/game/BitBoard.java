@@ -0,0 +1,324 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Board stored as bitsets, each row takes whole words. Numbers of all cells are computed a word at a time by
+ * bit-parallel adders over shifted rows. Open cells and flags are counted as they change, so win check and flag count
+ * take constant time.
+ * <p>
+ * Bit of a cell is found without division: row is the cell multiplied by a precomputed reciprocal of the width, word
+ * and bit are shifts and masks of the position in the padded rows.
+ */
+final class BitBoard implements GameBoard, Mines.Field {
+    // Numbers up to 8 take four bits
+    private static final int NUMBER_PLANES = 4;
+
+    private Topology topology;
+    private Adjacency adjacency;
+    private int width;
+    private int height;
+    private int size;
+    private int mines;
+
+    // Words per row and valid bits of the last word of a row
+    private int words;
+    private long lastWordMask;
+    // Row of a cell is (cell * rowMultiplier) >>> rowShift
+    private long rowMultiplier;
+    private int rowShift;
+
+    private long[] mineBits = new long[0];
+    private long[] flagBits = new long[0];
+    private long[] openBits = new long[0];
+    // Plane k holds bit k of the number of mines around each cell
+    private final long[][] numberBits = new long[NUMBER_PLANES][0];
+
+    private int openCount;
+    private int flagCount;
+
+    // Reveal state reused between calls
+    private int[] stack = new int[64];
+    private final int[] neighbours = new int[Topology.MAX_NEIGHBOURS];
+
+    public BitBoard() {
+    }
+
+    @Override
+    public void setup(BoardSize boardSize, Topology topology) {
+        this.topology = topology;
+        this.adjacency = Adjacency.of(topology, boardSize.width(), boardSize.height());
+        this.width = boardSize.width();
+        this.height = boardSize.height();
+        this.size = boardSize.cells();
+        this.mines = boardSize.mines();
+
+        words = (width + 63) >>> 6;
+        lastWordMask = (width & 63) == 0 ? -1L : (1L << width) - 1;
+        // Exact for any non-negative int cell: shift is 31 + ceil(log2(width)), multiplier is 2^shift / width
+        // rounded up
+        rowShift = Integer.SIZE - 1 + Integer.SIZE - Integer.numberOfLeadingZeros(width - 1);
+        rowMultiplier = ((1L << rowShift) + width - 1) / width;
+        openCount = 0;
+        flagCount = 0;
+
+        var length = words * height;
+        if (mineBits.length != length) {
+            mineBits = new long[length];
+            flagBits = new long[length];
+            openBits = new long[length];
+            for (int k = 0; k < NUMBER_PLANES; k++) {
+                numberBits[k] = new long[length];
+            }
+        } else {
+            Arrays.fill(mineBits, 0);
+            Arrays.fill(flagBits, 0);
+            Arrays.fill(openBits, 0);
+            for (var plane : numberBits) {
+                Arrays.fill(plane, 0);
+            }
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getRemainingMines() {
+        return mines - flagCount;
+    }
+
+    @Override
+    public void initialize(int center, long seed) {
+        Mines.place(this, width, size, mines, Board.getCleanArea(adjacency, center), seed);
+
+        var rows = IntStream.range(0, height);
+        if (size >= Mines.PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(this::countMines);
+    }
+
+    @Override
+    public boolean mine(int cell) {
+        var index = index(cell);
+        return (mineBits[index >>> 6] & 1L << index) != 0;
+    }
+
+    @Override
+    public void putMine(int cell) {
+        var index = index(cell);
+        mineBits[index >>> 6] |= 1L << index;
+    }
+
+    @Override
+    public int toggleFlag(int x) {
+        var index = index(x);
+        var word = index >>> 6;
+        var bit = 1L << index;
+        if ((openBits[word] & bit) != 0) {
+            throw new IllegalArgumentException("Cannot toggle mine on open cell");
+        }
+        flagBits[word] ^= bit;
+        flagCount += (flagBits[word] & bit) != 0 ? 1 : -1;
+        return value(word, bit);
+    }
+
+    @Override
+    public int getValue(int x) {
+        var index = index(x);
+        return value(index >>> 6, 1L << index);
+    }
+
+    private int value(int word, long bit) {
+        if ((openBits[word] & bit) != 0) {
+            return number(word, bit);
+        }
+
+        var value = (mineBits[word] & bit) != 0 ? Cell.MINE : Cell.EMPTY | number(word, bit);
+        return (flagBits[word] & bit) != 0 ? value | Cell.FLAG_MASK : value;
+    }
+
+    @Override
+    public int getUnopenedNeighbours(int x, int[] result) {
+        var count = adjacency.neighbours(x, result);
+        var index = 0;
+        for (int i = 0; i < count; i++) {
+            var neighbour = result[i];
+            var position = index(neighbour);
+            if ((openBits[position >>> 6] & 1L << position) == 0) {
+                result[index++] = neighbour;
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public boolean hasUnexploredCells() {
+        return openCount < size - mines;
+    }
+
+    @Override
+    public int[] getCellsToReveal() {
+        var count = 0;
+        for (int w = 0; w < mineBits.length; w++) {
+            count += Long.bitCount(mineBits[w] ^ flagBits[w]);
+        }
+
+        var result = new int[count];
+        var index = 0;
+        for (int row = 0; row < height; row++) {
+            for (int w = 0; w < words; w++) {
+                var first = row * width + (w << 6);
+                for (var bits = mineBits[row * words + w] ^ flagBits[row * words + w]; bits != 0; bits &= bits - 1) {
+                    result[index++] = first + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void reveal(int x, Game.CellChangeCallback callback) {
+        if (open(x, callback) != 0) return;
+
+        var top = 0;
+        stack[top++] = x;
+        while (top > 0) {
+            var cell = stack[--top];
+            // Cell has no mines around, all its neighbours are safe
+            var count = adjacency.neighbours(cell, neighbours);
+            for (int i = 0; i < count; i++) {
+                var neighbour = neighbours[i];
+                var index = index(neighbour);
+                if ((openBits[index >>> 6] & 1L << index) != 0) continue;
+
+                if (open(neighbour, callback) == 0) {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = neighbour;
+                }
+            }
+        }
+    }
+
+    private int open(int cell, Game.CellChangeCallback callback) {
+        var index = index(cell);
+        var word = index >>> 6;
+        var bit = 1L << index;
+        openBits[word] |= bit;
+        openCount++;
+        if ((flagBits[word] & bit) != 0) {
+            flagBits[word] &= ~bit;
+            flagCount--;
+        }
+
+        var number = number(word, bit);
+        callback.onCellChanged(cell, number);
+        return number;
+    }
+
+    /**
+     * Returns position of the cell bit in rows padded to whole words. Word is the position shifted by 6, bit is 1
+     * shifted by the position, shift distance is taken modulo 64.
+     */
+    private int index(int cell) {
+        var row = (int) (cell * rowMultiplier >>> rowShift);
+        return (row * words << 6) + cell - row * width;
+    }
+
+    private int number(int word, long bit) {
+        var number = 0;
+        for (int k = 0; k < NUMBER_PLANES; k++) {
+            if ((numberBits[k][word] & bit) != 0) {
+                number |= 1 << k;
+            }
+        }
+        return number;
+    }
+
+    /**
+     * Computes numbers of the row. Each neighbour direction is the mine row shifted so that the neighbour bit lands
+     * on the cell bit, shifted rows are summed into bit planes.
+     */
+    private void countMines(int y) {
+        var row = y * words;
+        var above = y > 0 ? row - words : topology == Topology.TORUS ? (height - 1) * words : -1;
+        var below = y + 1 < height ? row + words : topology == Topology.TORUS ? 0 : -1;
+        var sum = new long[NUMBER_PLANES];
+
+        for (int w = 0; w < words; w++) {
+            Arrays.fill(sum, 0);
+            add(sum, west(row, w));
+            add(sum, east(row, w));
+            if (above >= 0) {
+                addAdjacentRow(sum, above, w, y & 1);
+            }
+            if (below >= 0) {
+                addAdjacentRow(sum, below, w, y & 1);
+            }
+
+            var mask = w == words - 1 ? lastWordMask : -1L;
+            for (int k = 0; k < NUMBER_PLANES; k++) {
+                numberBits[k][row + w] = sum[k] & mask;
+            }
+        }
+    }
+
+    /**
+     * Adds row above or below. Hexagonal odd rows are shifted right, so their neighbours in adjacent rows are
+     * x and x + 1, for even rows these are x - 1 and x.
+     */
+    private void addAdjacentRow(long[] sum, int row, int w, int parity) {
+        add(sum, mineBits[row + w]);
+        if (topology != Topology.HEXAGONAL || parity == 0) {
+            add(sum, west(row, w));
+        }
+        if (topology != Topology.HEXAGONAL || parity == 1) {
+            add(sum, east(row, w));
+        }
+    }
+
+    /**
+     * Word of the mine row where bit of each cell is the bit of its left neighbour.
+     */
+    private long west(int row, int w) {
+        var value = mineBits[row + w] << 1;
+        if (w > 0) {
+            value |= mineBits[row + w - 1] >>> 63;
+        } else if (topology == Topology.TORUS) {
+            value |= (mineBits[row + words - 1] >>> (width - 1)) & 1;
+        }
+        return value;
+    }
+
+    /**
+     * Word of the mine row where bit of each cell is the bit of its right neighbour.
+     */
+    private long east(int row, int w) {
+        var value = mineBits[row + w] >>> 1;
+        if (w + 1 < words) {
+            value |= mineBits[row + w + 1] << 63;
+        } else if (topology == Topology.TORUS) {
+            value |= (mineBits[row] & 1) << (width - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Adds one bit per cell to the sum kept in bit planes, carries ripple to the higher planes.
+     */
+    private static void add(long[] sum, long addend) {
+        for (int k = 0; k < NUMBER_PLANES && addend != 0; k++) {
+            var carry = sum[k] & addend;
+            sum[k] ^= addend;
+            addend = carry;
+        }
+    }
+}
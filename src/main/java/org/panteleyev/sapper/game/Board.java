@@ -2,18 +2,13 @@
 // SPDX-License-Identifier: BSD-2-Clause
 package org.panteleyev.sapper.game;
 
-import org.panteleyev.sapper.MineCountResult;
-
 import java.util.Arrays;
-import java.util.Random;
 import java.util.stream.IntStream;
 
-import static org.panteleyev.sapper.game.BoardSize.MAX_HEIGHT;
-import static org.panteleyev.sapper.game.BoardSize.MAX_WIDTH;
-
-final class Board {
-    private static final Random RANDOM = new Random(System.currentTimeMillis());
-
+/**
+ * Board with one byte per cell.
+ */
+final class Board implements GameBoard, Mines.Field {
     private static final int[] CLEAN_AREA_INIT = new int[]{
             Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
             Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
@@ -22,145 +17,235 @@ final class Board {
 
     private static final int MAX_MINES = 8;
 
-    private final int[] board = new int[MAX_WIDTH * MAX_HEIGHT];
+    private static final BoardPasses PASSES = BoardPasses.select();
+
+    // One byte per cell, all cell values fit into 7 bits
+    private byte[] board = new byte[0];
 
+    // Reveal state reused between calls
+    private final IntQueue queue = new IntQueue(64);
+    private final int[] neighbours = new int[Topology.MAX_NEIGHBOURS];
+
+    private Adjacency adjacency;
     private int width;
+    private int height;
     private int size;
     private int mines;
 
-    private int remainingMines;
+    // Incremental counters, full board scans are too slow for large boards
+    private int unexploredCells;
+    private int flagCount;
 
     public Board() {
     }
 
-    public void setup(BoardSize boardSize) {
+    @Override
+    public void setup(BoardSize boardSize, Topology topology) {
+        this.adjacency = Adjacency.of(topology, boardSize.width(), boardSize.height());
         this.width = boardSize.width();
-        this.size = width * boardSize.height();
+        this.height = boardSize.height();
+        this.size = boardSize.cells();
         this.mines = boardSize.mines();
 
-        remainingMines = mines;
-        Arrays.fill(board, Cell.EMPTY);
+        unexploredCells = size - mines;
+        flagCount = 0;
+        if (board.length != size) {
+            board = new byte[size];
+        }
+        Arrays.fill(board, (byte) Cell.EMPTY);
     }
 
+    @Override
     public int getSize() {
         return size;
     }
 
+    @Override
     public int getRemainingMines() {
-        return remainingMines;
+        return mines - flagCount;
     }
 
     /**
-     * Seeds board with mines and makes sure center and surrounding area is empty.
-     *
-     * @param center center of the free area
+     * {@inheritDoc}
+     * <p>
+     * Then computes numbers of all cells, so reveal does not have to count mines. Nothing but the board itself is
+     * kept per cell.
      */
-    void initialize(int center) {
-        var cleanArea = getCleanArea(center, width, size);
+    @Override
+    public void initialize(int center, long seed) {
+        Mines.place(this, width, size, mines, getCleanArea(adjacency, center), seed);
 
-        RANDOM.ints(0, size)
-                .filter(x -> Arrays.binarySearch(cleanArea, x) < 0)
-                .distinct()
-                .limit(mines)
-                .forEach(x -> board[x] = Cell.MINE);
+        if (size < Mines.PARALLEL_THRESHOLD) {
+            computeNumbers(0, height);
+            return;
+        }
+
+        var bandRows = Mines.bandRows(width);
+        var bands = (height + bandRows - 1) / bandRows;
+        IntStream.range(0, bands).parallel().forEach(band ->
+                computeNumbers(band * bandRows, Math.min(band * bandRows + bandRows, height)));
+    }
+
+    @Override
+    public boolean mine(int cell) {
+        return Cell.mine(board[cell]);
     }
 
     /**
-     * Toggles flag on unopened cell.
-     *
-     * @param x position
-     * @return resulting cell value
-     * @throws IllegalArgumentException in case of attempt to toggle flag on opened cell
+     * Flags put before the first hit stay in place.
      */
-    int toggleFlag(int x) {
+    @Override
+    public void putMine(int cell) {
+        board[cell] = (byte) Cell.putMine(board[cell]);
+    }
+
+    /**
+     * Computes numbers of cells within rows [fromRow, toRow). Mines of other rows are only read.
+     */
+    private void computeNumbers(int fromRow, int toRow) {
+        if (adjacency.getTopology() == Topology.RECTANGULAR) {
+            PASSES.countMines(board, width, height, fromRow, toRow);
+        } else {
+            countMines(fromRow * width, toRow * width, new int[Topology.MAX_NEIGHBOURS]);
+        }
+    }
+
+    /**
+     * Any topology: counts mines of the cells [from, to) neighbour by neighbour.
+     */
+    private void countMines(int from, int to, int[] buffer) {
+        for (int cell = from; cell < to; cell++) {
+            if (Cell.mine(board[cell])) continue;
+
+            var count = adjacency.neighbours(cell, buffer);
+            var mineCount = 0;
+            for (int i = 0; i < count; i++) {
+                mineCount += mineBit(board[buffer[i]]);
+            }
+            board[cell] |= (byte) mineCount;
+        }
+    }
+
+    private static int mineBit(byte value) {
+        return (value & Cell.MINE) >>> 5;
+    }
+    @Override
+    public int toggleFlag(int x) {
         var value = board[x];
         if (value <= MAX_MINES) {
             throw new IllegalArgumentException("Cannot toggle mine on open cell");
         }
-        value = Cell.toggleFlag(value);
+        value = (byte) Cell.toggleFlag(value);
 
         board[x] = value;
         if (Cell.flag(value)) {
-            remainingMines--;
+            flagCount++;
         } else {
-            remainingMines++;
+            flagCount--;
         }
         return value;
     }
 
-    int getValue(int x) {
+    @Override
+    public int getValue(int x) {
         return board[x];
     }
 
-    boolean hasUnexploredCells() {
-        return hasUnexploredCells(board, size);
+    @Override
+    public int getUnopenedNeighbours(int x, int[] result) {
+        return getUnopenedNeighbours(adjacency, x, board, result);
     }
 
-    MineCountResult countMines(int x) {
-        var neighbours = getUnopenedNeighbours(x, width, board, size);
-        var mineCount = 0;
-        for (var neighbour : neighbours) {
-            if (neighbour < 0) {
-                break;
-            }
-            if (Cell.mine(getValue(neighbour))) {
-                mineCount++;
-            }
-        }
-        board[x] = mineCount;
-        return new MineCountResult(mineCount, neighbours);
+    @Override
+    public boolean hasUnexploredCells() {
+        return unexploredCells > 0;
     }
 
-    void countRemainingMines() {
-        remainingMines = mines - getFlagCount(board, size);
+    @Override
+    public int[] getCellsToReveal() {
+        return PASSES.getCellsToReveal(board, size);
     }
 
-    static int[] getUnopenedNeighbours(int center, int width, int[] board, int size) {
-        var result = new int[8 + 1];
-
-        var x = center % width;
-        int lowerAdd = x == 0 ? 0 : -1;
-        int upperAdd = x == width - 1 ? 0 : 1;
-
-        var index = 0;
-        for (int w = -width; w <= width; w += width) {
-            for (int add = lowerAdd; add <= upperAdd; add += 1) {
-                var pos = center + w + add;
-                if (pos == center || pos < 0 || pos >= size) continue;
-
-                if (board[pos] > MAX_MINES) {
-                    result[index++] = pos;
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Walks the area breadth first. Opened cells are not empty any more, so the board itself marks visited cells and
+     * the queue keeps only the front of the walk. Cost is proportional to the number of opened cells, nothing is
+     * allocated once the queue has grown.
+     */
+    @Override
+    public void reveal(int x, Game.CellChangeCallback callback) {
+        open(x, callback);
+        if (board[x] != 0) return;
+
+        queue.clear();
+        queue.add(x);
+        while (!queue.isEmpty()) {
+            var count = adjacency.neighbours(queue.poll(), neighbours);
+            for (int i = 0; i < count; i++) {
+                var neighbour = neighbours[i];
+                if (!Cell.empty(board[neighbour])) continue;
+
+                open(neighbour, callback);
+                if (board[neighbour] == 0) {
+                    queue.add(neighbour);
                 }
             }
         }
-        result[index] = -1;
-        return result;
     }
 
-    static int[] getCleanArea(int center, int width, int size) {
-        var area = Arrays.copyOf(CLEAN_AREA_INIT, CLEAN_AREA_INIT.length);
+    private void open(int cell, Game.CellChangeCallback callback) {
+        var value = board[cell];
+        if (Cell.flag(value)) {
+            flagCount--;
+        }
+        unexploredCells--;
 
-        var x = center % width;
-        int lowerAdd = x == 0 ? 0 : -1;
-        int upperAdd = x == width - 1 ? 0 : 1;
+        var number = Cell.number(value);
+        board[cell] = (byte) number;
+        callback.onCellChanged(cell, number);
+    }
 
+    /**
+     * Collects unopened neighbours of the cell.
+     *
+     * @param result array of at least {@link Topology#MAX_NEIGHBOURS} elements to receive neighbour positions
+     * @return number of neighbours found
+     */
+    static int getUnopenedNeighbours(Adjacency adjacency, int center, byte[] board, int[] result) {
+        var count = adjacency.neighbours(center, result);
         var index = 0;
-        for (int w = -width; w <= width; w += width) {
-            for (int add = lowerAdd; add <= upperAdd; add += 1) {
-                var pos = center + w + add;
-                if (pos >= 0 && pos < size) {
-                    area[index++] = pos;
-                }
+        for (int i = 0; i < count; i++) {
+            var pos = result[i];
+            if (board[pos] > MAX_MINES) {
+                result[index++] = pos;
             }
         }
+        return index;
+    }
+
+    /**
+     * Returns sorted positions of the cell and its neighbours. Unused elements are set to {@link Integer#MAX_VALUE}.
+     */
+    static int[] getCleanArea(Adjacency adjacency, int center) {
+        var area = Arrays.copyOf(CLEAN_AREA_INIT, CLEAN_AREA_INIT.length);
+        var count = adjacency.neighbours(center, area);
+        area[count] = center;
+        Arrays.sort(area);
         return area;
     }
 
-    static boolean hasUnexploredCells(int[] board, int size) {
-        return IntStream.range(0, size).anyMatch(x -> Cell.empty(board[x]));
+    /**
+     * Full board scan, the same as {@link #hasUnexploredCells()} but without counters.
+     */
+    static boolean hasUnexploredCells(byte[] board, int size) {
+        return PASSES.hasUnexploredCells(board, size);
     }
 
-    static int getFlagCount(int[] board, int size) {
-        return IntStream.range(0, size).reduce(0, (x, y) -> x + (board[y] & Cell.FLAG_MASK)) >>> 6;
+    /**
+     * Full board scan, returns the number of flags.
+     */
+    static int getFlagCount(byte[] board, int size) {
+        return PASSES.getFlagCount(board, size);
     }
 }
@@ -0,0 +1,27 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.BoardGeneration")
+@Label("Board Generation")
+@Description("Placement of mines and computation of numbers on the first hit")
+@Category({"Sapper", "Game"})
+final class BoardGenerationEvent extends Event {
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Mines")
+    int mines;
+
+    @Label("Seed")
+    long seed;
+}
@@ -0,0 +1,78 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import java.util.Arrays;
+
+/**
+ * Full board passes over one byte per cell boards. Vector implementation is used when
+ * {@code jdk.incubator.vector} module is available at run time, scalar implementation otherwise. Vector
+ * implementation can be turned off by {@code -Dsapper.vector=false}.
+ */
+interface BoardPasses {
+    String VECTOR_MODULE = "jdk.incubator.vector";
+    String VECTOR_PROPERTY = "sapper.vector";
+
+    static BoardPasses select() {
+        if (Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent())
+        {
+            return new VectorPasses();
+        } else {
+            return new ScalarPasses();
+        }
+    }
+
+    boolean hasUnexploredCells(byte[] board, int size);
+
+    int getFlagCount(byte[] board, int size);
+
+    /**
+     * Returns positions of mines without flag and flags without mine.
+     */
+    int[] getCellsToReveal(byte[] board, int size);
+
+    /**
+     * Computes number of mines in each cell of the row and its left and right neighbours.
+     *
+     * @param offset position of the first cell of the row
+     */
+    void rowSums(byte[] board, int offset, int width, byte[] sums);
+
+    /**
+     * Adds sums of three rows to cells of the row that are not mines.
+     *
+     * @param offset position of the first cell of the row
+     */
+    void addNumbers(byte[] board, int offset, int width, byte[] above, byte[] current, byte[] below);
+
+    /**
+     * Computes numbers of cells of rectangular board in rows [fromRow, toRow). Number of a cell is a sum of 3x3
+     * window minus the cell itself, which is a mine only when its number is not needed. Window sums are computed
+     * from row sums of three rows.
+     */
+    default void countMines(byte[] board, int width, int height, int fromRow, int toRow) {
+        var above = new byte[width];
+        var current = new byte[width];
+        var below = new byte[width];
+        if (fromRow > 0) {
+            rowSums(board, (fromRow - 1) * width, width, above);
+        }
+        rowSums(board, fromRow * width, width, current);
+
+        for (int y = fromRow; y < toRow; y++) {
+            if (y + 1 < height) {
+                rowSums(board, (y + 1) * width, width, below);
+            } else {
+                Arrays.fill(below, (byte) 0);
+            }
+
+            addNumbers(board, y * width, width, above, current, below);
+
+            var rotated = above;
+            above = current;
+            current = below;
+            below = rotated;
+        }
+    }
+}
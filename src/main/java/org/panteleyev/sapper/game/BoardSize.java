@@ -13,6 +13,10 @@ public record BoardSize(int width, int height, int mines) {
     public static final int MIN_HEIGHT = 8;
     public static final int MAX_HEIGHT = 24;
 
+    // Large board mode
+    public static final int MAX_LARGE_WIDTH = 5000;
+    public static final int MAX_LARGE_HEIGHT = 5000;
+
     public static final BoardSize BIG = new BoardSize(30, 16, 99);
     public static final BoardSize MEDIUM = new BoardSize(16, 16, 40);
     public static final BoardSize SMALL = new BoardSize(8, 8, 10);
@@ -24,9 +28,29 @@ public record BoardSize(int width, int height, int mines) {
                     .thenComparing(BoardSize::mines);
 
     public BoardSize {
-        if (width < MIN_WIDTH || width > MAX_WIDTH || height < MIN_HEIGHT || height > MAX_HEIGHT) {
+        if (width < MIN_WIDTH || width > MAX_LARGE_WIDTH || height < MIN_HEIGHT || height > MAX_LARGE_HEIGHT) {
             throw new IllegalArgumentException("Board dimensions are out of bounds");
         }
+        if (mines < 1 || mines > maxMines(width, height)) {
+            throw new IllegalArgumentException("Number of mines is out of bounds");
+        }
+    }
+
+    /**
+     * Returns true if board does not fit into standard limits and can be used in large board mode only.
+     *
+     * @return true for large board
+     */
+    public boolean isLarge() {
+        return width > MAX_WIDTH || height > MAX_HEIGHT;
+    }
+
+    public int cells() {
+        return width * height;
+    }
+
+    public static int maxMines(int width, int height) {
+        return (width - 1) * (height - 1);
     }
 
     @Override
@@ -7,6 +7,8 @@ package org.panteleyev.sapper.game;
 public final class Cell {
     private static final int MAX_MINES = 8;
 
+    // Unopened cells without mine keep the number of mines around in these bits
+    static final int NUMBER_MASK    = 0b000_1111;
     static final int EMPTY          = 0b001_0000;
     static final int MINE           = 0b010_0000;
     static final int FLAG_MASK      = 0b100_0000;
@@ -14,12 +16,15 @@ public final class Cell {
     static final int EMPTY_WITH_FLAG = EMPTY | FLAG_MASK;
     static final int MINE_WITH_FLAG  = MINE | FLAG_MASK;
 
+    // Value of any cell of a new board before the first hit
+    public static final int INITIAL = EMPTY;
+
     public static boolean empty(int value) {
         return (value & EMPTY) == EMPTY;
     }
 
     public static boolean emptyWithFlag(int value) {
-        return value == EMPTY_WITH_FLAG;
+        return (value & ~NUMBER_MASK) == EMPTY_WITH_FLAG;
     }
 
     public static boolean mine(int value) {
@@ -34,6 +39,10 @@ public final class Cell {
         return (value & FLAG_MASK) == FLAG_MASK;
     }
 
+    public static int number(int value) {
+        return value & NUMBER_MASK;
+    }
+
     public static boolean isExplored(int value) {
         return value <= MAX_MINES;
     }
@@ -0,0 +1,68 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of changed cells to be rendered in batch. Used as {@link Game.CellChangeCallback}, it only records positions,
+ * repeated changes of the same cell collapse into one entry. The consumer reads current values while draining.
+ */
+public final class DirtyCells implements Game.CellChangeCallback {
+    private long[] bits = new long[0];
+    private int[] cells = new int[64];
+    private int size;
+
+    @Override
+    public void onCellChanged(int x, int newValue) {
+        add(x);
+    }
+
+    public void add(int x) {
+        var word = x >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+        }
+        if ((bits[word] & (1L << x)) != 0) return;
+
+        bits[word] |= 1L << x;
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = x;
+    }
+
+    public boolean contains(int x) {
+        var word = x >>> 6;
+        return word < bits.length && (bits[word] & (1L << x)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes all cells to the consumer in order of their first change and clears the set.
+     */
+    public void drain(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            var x = cells[i];
+            bits[x >>> 6] &= ~(1L << x);
+            consumer.accept(x);
+        }
+        size = 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            var x = cells[i];
+            bits[x >>> 6] &= ~(1L << x);
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,30 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+/**
+ * Board representation behind {@link Game}.
+ */
+public enum Engine {
+    /**
+     * One byte per cell with precomputed opening areas, best for interactive play.
+     */
+    BYTES {
+        @Override
+        GameBoard createBoard() {
+            return new Board();
+        }
+    },
+
+    /**
+     * Bitsets, compact and cheap to analyse, intended for solvers and simulations.
+     */
+    BITS {
+        @Override
+        GameBoard createBoard() {
+            return new BitBoard();
+        }
+    };
+
+    abstract GameBoard createBoard();
+}
@@ -2,6 +2,8 @@
 // SPDX-License-Identifier: BSD-2-Clause
 package org.panteleyev.sapper.game;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public final class Game {
     @FunctionalInterface
     public interface CellChangeCallback {
@@ -14,18 +16,45 @@ public final class Game {
     }
 
     private GameStatus gameStatus = GameStatus.INITIAL;
-    private final Board board = new Board();
+    private final GameBoard board;
+    private final int[] neighbours = new int[Topology.MAX_NEIGHBOURS];
+    private BoardSize boardSize;
+    private long seed;
+    // Counts cells opened by a reveal while it is recorded
+    private int revealedCells;
 
     private final CellChangeCallback cellChangeCallback;
     private final GameStatusChangeCallback gameStatusChangeCallback;
 
     public Game(CellChangeCallback cellChangeCallback, GameStatusChangeCallback gameStatusChangeCallback) {
+        this(Engine.BYTES, cellChangeCallback, gameStatusChangeCallback);
+    }
+
+    public Game(Engine engine, CellChangeCallback cellChangeCallback,
+                GameStatusChangeCallback gameStatusChangeCallback)
+    {
+        this.board = engine.createBoard();
         this.cellChangeCallback = cellChangeCallback;
         this.gameStatusChangeCallback = gameStatusChangeCallback;
     }
 
     public void newGame(BoardSize boardSize) {
-        board.setup(boardSize);
+        newGame(boardSize, Topology.RECTANGULAR);
+    }
+
+    public void newGame(BoardSize boardSize, Topology topology) {
+        newGame(boardSize, topology, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Starts new game. Boards with the same size, topology and seed opened at the same cell are identical.
+     *
+     * @param seed seed of the board random generator
+     */
+    public void newGame(BoardSize boardSize, Topology topology, long seed) {
+        board.setup(boardSize, topology);
+        this.boardSize = boardSize;
+        this.seed = seed;
         gameStatus = GameStatus.INITIAL;
     }
 
@@ -41,62 +70,165 @@ public final class Game {
         return board.getRemainingMines();
     }
 
+    /**
+     * Returns positions of mines without flag and flags without mine.
+     */
+    public int[] getCellsToReveal() {
+        return board.getCellsToReveal();
+    }
+
     public GameStatus getGameStatus() {
         return gameStatus;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
     public void toggleFlag(int x) {
         var newValue = board.toggleFlag(x);
 
         cellChangeCallback.onCellChanged(x, newValue);
 
         if (gameStatus != GameStatus.INITIAL) {
-            var newStatus = checkForGameStatus();
-            if (newStatus != gameStatus) {
-                gameStatus = newStatus;
-                gameStatusChangeCallback.onGameStatusChanged(x, newStatus);
-            }
+            updateGameStatus(x);
         }
     }
 
     public void processHit(int x) {
-        var value = board.getValue(x);
+        if (gameStatus.isFinal()) return;
 
+        var value = board.getValue(x);
         if (Cell.isExplored(value) || Cell.flag(value)) return;
 
+        if (open(x)) {
+            updateGameStatus(x);
+        }
+    }
+
+    /**
+     * Opens cells as one move: cells are opened in order until a mine is hit, then game status is evaluated once.
+     * Opened and flagged cells are skipped.
+     *
+     * @param cells cells to open
+     */
+    public void processHits(int... cells) {
+        processHits(cells, cells.length);
+    }
+
+    /**
+     * Opens all unflagged neighbours of the open cell if the number of flags around it equals its number. Wrong
+     * flags make it hit a mine.
+     *
+     * @param x open cell
+     */
+    public void chord(int x) {
+        if (gameStatus != GameStatus.IN_PROGRESS) return;
+
+        var value = board.getValue(x);
+        if (!Cell.isExplored(value) || value == 0) return;
+
+        var count = board.getUnopenedNeighbours(x, neighbours);
+        var flags = 0;
+        for (int i = 0; i < count; i++) {
+            if (Cell.flag(board.getValue(neighbours[i]))) {
+                flags++;
+            }
+        }
+        if (flags == value) {
+            processHits(neighbours, count);
+        }
+    }
+
+    private void processHits(int[] cells, int count) {
+        if (gameStatus.isFinal()) return;
+
+        var last = -1;
+        for (int i = 0; i < count; i++) {
+            var x = cells[i];
+            var value = board.getValue(x);
+            if (Cell.isExplored(value) || Cell.flag(value)) continue;
+
+            if (!open(x)) return;
+            last = x;
+        }
+
+        if (last != -1) {
+            updateGameStatus(last);
+        }
+    }
+
+    /**
+     * Opens unopened cell without flag, generates board on the first hit.
+     *
+     * @return false if the cell is a mine
+     */
+    private boolean open(int x) {
         if (gameStatus == GameStatus.INITIAL) {
-            board.initialize(x);
-            gameStatus = GameStatus.IN_PROGRESS;
-            gameStatusChangeCallback.onGameStatusChanged(x, gameStatus);
+            initialize(x);
+            changeGameStatus(x, GameStatus.IN_PROGRESS);
         }
 
-        if (Cell.mineNoFlag(value)) {
-            gameStatus = GameStatus.FAILURE;
-            gameStatusChangeCallback.onGameStatusChanged(x, gameStatus);
+        if (Cell.mineNoFlag(board.getValue(x))) {
+            changeGameStatus(x, GameStatus.FAILURE);
+            return false;
+        }
+
+        reveal(x);
+        return true;
+    }
+
+    private void initialize(int x) {
+        var event = new BoardGenerationEvent();
+        event.begin();
+        board.initialize(x, seed);
+        if (event.shouldCommit()) {
+            event.width = boardSize.width();
+            event.height = boardSize.height();
+            event.mines = boardSize.mines();
+            event.seed = seed;
+            event.commit();
+        }
+    }
+
+    private void reveal(int x) {
+        var event = new RevealEvent();
+        if (!event.isEnabled()) {
+            board.reveal(x, cellChangeCallback);
             return;
         }
 
-        countMines(x);
-        board.countRemainingMines();
+        revealedCells = 0;
+        event.begin();
+        board.reveal(x, (cell, value) -> {
+            revealedCells++;
+            cellChangeCallback.onCellChanged(cell, value);
+        });
+        if (event.shouldCommit()) {
+            event.cell = x;
+            event.cells = revealedCells;
+            event.commit();
+        }
+    }
 
+    private void updateGameStatus(int x) {
         var newStatus = checkForGameStatus();
         if (newStatus != gameStatus) {
-            gameStatus = newStatus;
-            gameStatusChangeCallback.onGameStatusChanged(x, newStatus);
+            changeGameStatus(x, newStatus);
         }
     }
 
-    private void countMines(int x) {
-        var result = board.countMines(x);
-        cellChangeCallback.onCellChanged(x, result.value());
-        if (result.value() != 0) return;
+    private void changeGameStatus(int x, GameStatus newStatus) {
+        gameStatus = newStatus;
 
-        for (var neighbour : result.neighbours()) {
-            if (neighbour < 0) break;
-            if (Cell.empty(board.getValue(neighbour))) {
-                countMines(neighbour);
-            }
+        var event = new GameStatusEvent();
+        if (event.shouldCommit()) {
+            event.cell = x;
+            event.status = newStatus.name();
+            event.commit();
         }
+
+        gameStatusChangeCallback.onGameStatusChanged(x, newStatus);
     }
 
     private GameStatus checkForGameStatus() {
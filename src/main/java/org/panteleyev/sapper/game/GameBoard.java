@@ -0,0 +1,58 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+/**
+ * Board state behind {@link Game}. Values returned and reported to callbacks use {@link Cell} encoding whatever the
+ * internal representation is.
+ */
+interface GameBoard {
+    void setup(BoardSize boardSize, Topology topology);
+
+    int getSize();
+
+    int getRemainingMines();
+
+    /**
+     * Seeds board with mines and makes sure center and surrounding area is empty. The same seed and center always
+     * produce the same mines.
+     *
+     * @param center center of the free area
+     * @param seed   random generator seed
+     */
+    void initialize(int center, long seed);
+
+    /**
+     * Toggles flag on unopened cell.
+     *
+     * @param x position
+     * @return resulting cell value
+     * @throws IllegalArgumentException in case of attempt to toggle flag on opened cell
+     */
+    int toggleFlag(int x);
+
+    int getValue(int x);
+
+    /**
+     * Collects unopened neighbours of the cell.
+     *
+     * @param result array of at least {@link Topology#MAX_NEIGHBOURS} elements to receive neighbour positions
+     * @return number of neighbours found
+     */
+    int getUnopenedNeighbours(int x, int[] result);
+
+    boolean hasUnexploredCells();
+
+    /**
+     * Returns positions of mines without flag and flags without mine, these are shown when game is lost.
+     */
+    int[] getCellsToReveal();
+
+    /**
+     * Opens cell and, if it has no mines around, the whole area of cells without mines around it.
+     *
+     * @param x        start position, must be an unopened cell without mine
+     * @param callback callback called for each opened cell
+     */
+    void reveal(int x, Game.CellChangeCallback callback);
+}
@@ -0,0 +1,19 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.GameStatus")
+@Label("Game Status Change")
+@Category({"Sapper", "Game"})
+final class GameStatusEvent extends Event {
+    @Label("Cell")
+    int cell;
+
+    @Label("Status")
+    String status;
+}
@@ -0,0 +1,53 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+/**
+ * FIFO ring buffer of primitive ints that is reused between operations. Keeps only elements not polled yet, so a
+ * breadth-first walk needs room for its front only.
+ */
+final class IntQueue {
+    private int[] elements;
+    private int head;
+    private int count;
+
+    /**
+     * @param capacity initial capacity, power of two
+     */
+    IntQueue(int capacity) {
+        elements = new int[capacity];
+    }
+
+    void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void add(int value) {
+        if (count == elements.length) {
+            grow();
+        }
+        elements[(head + count) & (elements.length - 1)] = value;
+        count++;
+    }
+
+    int poll() {
+        var value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        count--;
+        return value;
+    }
+
+    private void grow() {
+        var grown = new int[elements.length * 2];
+        for (int i = 0; i < count; i++) {
+            grown[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        elements = grown;
+        head = 0;
+    }
+}
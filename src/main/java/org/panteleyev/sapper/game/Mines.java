@@ -0,0 +1,139 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.IntStream;
+
+/**
+ * Mine placement shared by board implementations. The same seed and clean area produce the same mines whatever
+ * the board representation is.
+ */
+final class Mines {
+    /**
+     * Board representation as seen by mine placement.
+     */
+    interface Field {
+        boolean mine(int cell);
+
+        void putMine(int cell);
+    }
+
+    private static final String RANDOM_ALGORITHM = "L64X128MixRandom";
+
+    private static final RandomGeneratorFactory<SplittableGenerator> RANDOM_FACTORY =
+            RandomGeneratorFactory.of(RANDOM_ALGORITHM);
+
+    // Boards of this size and larger are processed by several threads, one band of rows per task
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    static final int BAND_CELLS = 1 << 16;
+
+    /**
+     * Places mines into free cells of the board. Bands of large boards are filled in parallel, bands always consist
+     * of whole rows.
+     *
+     * @param cleanArea sorted cells that must stay free
+     */
+    static void place(Field field, int width, int size, int count, int[] cleanArea, long seed) {
+        var random = RANDOM_FACTORY.create(seed);
+
+        if (size < PARALLEL_THRESHOLD) {
+            place(field, 0, size, count, cleanArea, random);
+            return;
+        }
+
+        var bandSize = bandRows(width) * width;
+        var quotas = getBandQuotas(size, count, bandSize, cleanArea, random);
+
+        // Generators are split up front to keep the result independent of thread scheduling
+        var generators = new RandomGenerator[quotas.length];
+        for (int band = 0; band < quotas.length; band++) {
+            generators[band] = random.split();
+        }
+
+        IntStream.range(0, quotas.length).parallel().forEach(band -> {
+            var from = band * bandSize;
+            place(field, from, Math.min(from + bandSize, size), quotas[band], cleanArea, generators[band]);
+        });
+    }
+
+    static int bandRows(int width) {
+        return Math.max(1, BAND_CELLS / width);
+    }
+
+    /**
+     * Places mines into free cells of the range [from, to) in O(count) regardless of density. Uses Floyd's sampling,
+     * a variant of partial Fisher–Yates shuffle that needs no index array: the board itself keeps the chosen cells.
+     *
+     * @param cleanArea sorted cells that must stay free
+     */
+    static void place(Field field, int from, int to, int count, int[] cleanArea, RandomGenerator random) {
+        var free = to - from;
+        for (var pos : cleanArea) {
+            if (pos >= from && pos < to) {
+                free--;
+            }
+        }
+
+        for (int j = free - count; j < free; j++) {
+            var pos = freeCell(from, random.nextInt(j + 1), cleanArea);
+            if (field.mine(pos)) {
+                pos = freeCell(from, j, cleanArea);
+            }
+            field.putMine(pos);
+        }
+    }
+
+    /**
+     * Returns position of the free cell by its index in the range starting at {@code from}.
+     */
+    private static int freeCell(int from, int index, int[] cleanArea) {
+        var pos = from + index;
+        for (var clean : cleanArea) {
+            if (clean < from) continue;
+            if (clean > pos) break;
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Splits mines between bands proportionally to the number of free cells in each band. The remainder is spread
+     * over randomly chosen bands one mine each.
+     */
+    private static int[] getBandQuotas(int size, int count, int bandSize, int[] cleanArea, RandomGenerator random) {
+        var bands = (size + bandSize - 1) / bandSize;
+        var free = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            free[band] = Math.min(bandSize, size - band * bandSize);
+        }
+        for (var pos : cleanArea) {
+            if (pos != Integer.MAX_VALUE) {
+                free[pos / bandSize]--;
+            }
+        }
+        var totalFree = size - Arrays.stream(cleanArea).filter(x -> x != Integer.MAX_VALUE).count();
+
+        var quotas = new int[bands];
+        var placed = 0;
+        for (int band = 0; band < bands; band++) {
+            quotas[band] = (int) (count * free[band] / totalFree);
+            placed += quotas[band];
+        }
+        var remainder = count - placed;
+        while (remainder > 0) {
+            var band = random.nextInt(bands);
+            if (quotas[band] < free[band]) {
+                quotas[band]++;
+                remainder--;
+            }
+        }
+        return quotas;
+    }
+
+    private Mines() {
+    }
+}
@@ -0,0 +1,21 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.Reveal")
+@Label("Reveal")
+@Description("Opening of a cell and the area without mines around it")
+@Category({"Sapper", "Game"})
+final class RevealEvent extends Event {
+    @Label("Cell")
+    int cell;
+
+    @Label("Opened Cells")
+    int cells;
+}
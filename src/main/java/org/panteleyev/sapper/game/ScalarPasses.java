@@ -0,0 +1,73 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+final class ScalarPasses implements BoardPasses {
+    @Override
+    public boolean hasUnexploredCells(byte[] board, int size) {
+        for (int x = 0; x < size; x++) {
+            if (Cell.empty(board[x])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getFlagCount(byte[] board, int size) {
+        var count = 0;
+        for (int x = 0; x < size; x++) {
+            count += board[x] & Cell.FLAG_MASK;
+        }
+        return count >>> 6;
+    }
+
+    @Override
+    public int[] getCellsToReveal(byte[] board, int size) {
+        var count = 0;
+        for (int x = 0; x < size; x++) {
+            count += misplaced(board[x]);
+        }
+
+        var result = new int[count];
+        var index = 0;
+        for (int x = 0; x < size && index < count; x++) {
+            if (misplaced(board[x]) != 0) {
+                result[index++] = x;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void rowSums(byte[] board, int offset, int width, byte[] sums) {
+        var left = 0;
+        var center = mineBit(board[offset]);
+        for (int x = 0; x < width; x++) {
+            var right = x + 1 < width ? mineBit(board[offset + x + 1]) : 0;
+            sums[x] = (byte) (left + center + right);
+            left = center;
+            center = right;
+        }
+    }
+
+    @Override
+    public void addNumbers(byte[] board, int offset, int width, byte[] above, byte[] current, byte[] below) {
+        for (int x = 0; x < width; x++) {
+            if (!Cell.mine(board[offset + x])) {
+                board[offset + x] |= (byte) (above[x] + current[x] + below[x]);
+            }
+        }
+    }
+
+    static int mineBit(byte value) {
+        return (value & Cell.MINE) >>> 5;
+    }
+
+    /**
+     * 1 for mine without flag or flag without mine, 0 otherwise.
+     */
+    static int misplaced(byte value) {
+        return ((value >>> 5) ^ (value >>> 6)) & 1;
+    }
+}
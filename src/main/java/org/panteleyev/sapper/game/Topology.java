@@ -0,0 +1,76 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+/**
+ * Board geometry, defines which cells are neighbours.
+ */
+public enum Topology {
+    /**
+     * Classic rectangular board, up to 8 neighbours.
+     */
+    RECTANGULAR {
+        @Override
+        int neighbours(int x, int y, int width, int height, int[] result) {
+            var count = 0;
+            for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++) {
+                for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+                    if (nx != x || ny != y) {
+                        result[count++] = ny * width + nx;
+                    }
+                }
+            }
+            return count;
+        }
+    },
+
+    /**
+     * Rectangular board with opposite edges connected, always 8 neighbours.
+     */
+    TORUS {
+        @Override
+        int neighbours(int x, int y, int width, int height, int[] result) {
+            var count = 0;
+            for (int dy = -1; dy <= 1; dy++) {
+                var ny = Math.floorMod(y + dy, height);
+                for (int dx = -1; dx <= 1; dx++) {
+                    if (dx != 0 || dy != 0) {
+                        result[count++] = ny * width + Math.floorMod(x + dx, width);
+                    }
+                }
+            }
+            return count;
+        }
+    },
+
+    /**
+     * Hexagonal cells, odd rows are shifted right by half a cell. Up to 6 neighbours.
+     */
+    HEXAGONAL {
+        @Override
+        int neighbours(int x, int y, int width, int height, int[] result) {
+            var count = 0;
+            var shift = y & 1;
+            for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++) {
+                var from = ny == y ? x - 1 : x - 1 + shift;
+                var to = ny == y ? x + 1 : x + shift;
+                for (int nx = Math.max(0, from); nx <= Math.min(width - 1, to); nx++) {
+                    if (nx != x || ny != y) {
+                        result[count++] = ny * width + nx;
+                    }
+                }
+            }
+            return count;
+        }
+    };
+
+    static final int MAX_NEIGHBOURS = 8;
+
+    /**
+     * Computes neighbours of the cell in ascending order of rows.
+     *
+     * @param result array of at least {@link #MAX_NEIGHBOURS} elements to receive neighbour positions
+     * @return number of neighbours
+     */
+    abstract int neighbours(int x, int y, int width, int height, int[] result);
+}
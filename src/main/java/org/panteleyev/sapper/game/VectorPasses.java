@@ -0,0 +1,126 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector implementation, processes as many cells per instruction as the preferred vector shape holds. Tails shorter
+ * than a vector are processed by the scalar code.
+ */
+final class VectorPasses implements BoardPasses {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean hasUnexploredCells(byte[] board, int size) {
+        var bound = SPECIES.loopBound(size);
+        for (int x = 0; x < bound; x += SPECIES.length()) {
+            var v = ByteVector.fromArray(SPECIES, board, x);
+            if (v.and((byte) Cell.EMPTY).compare(VectorOperators.NE, 0).anyTrue()) {
+                return true;
+            }
+        }
+        for (int x = bound; x < size; x++) {
+            if (Cell.empty(board[x])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getFlagCount(byte[] board, int size) {
+        var bound = SPECIES.loopBound(size);
+        var count = 0;
+        for (int x = 0; x < bound; x += SPECIES.length()) {
+            var v = ByteVector.fromArray(SPECIES, board, x);
+            count += v.and((byte) Cell.FLAG_MASK).compare(VectorOperators.NE, 0).trueCount();
+        }
+        for (int x = bound; x < size; x++) {
+            count += (board[x] & Cell.FLAG_MASK) >>> 6;
+        }
+        return count;
+    }
+
+    @Override
+    public int[] getCellsToReveal(byte[] board, int size) {
+        var bound = SPECIES.loopBound(size);
+        var count = 0;
+        for (int x = 0; x < bound; x += SPECIES.length()) {
+            count += misplaced(ByteVector.fromArray(SPECIES, board, x)).compare(VectorOperators.NE, 0).trueCount();
+        }
+        for (int x = bound; x < size; x++) {
+            count += ScalarPasses.misplaced(board[x]);
+        }
+
+        var result = new int[count];
+        var index = 0;
+        for (int x = 0; x < bound && index < count; x += SPECIES.length()) {
+            var mask = misplaced(ByteVector.fromArray(SPECIES, board, x)).compare(VectorOperators.NE, 0);
+            // Most vectors have nothing to reveal
+            for (int lane = mask.firstTrue(); lane < SPECIES.length(); lane++) {
+                if (mask.laneIsSet(lane)) {
+                    result[index++] = x + lane;
+                }
+            }
+        }
+        for (int x = bound; x < size && index < count; x++) {
+            if (ScalarPasses.misplaced(board[x]) != 0) {
+                result[index++] = x;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void rowSums(byte[] board, int offset, int width, byte[] sums) {
+        // Inner cells [1, width - 1) have both neighbours, vectors are loaded at three offsets
+        var bound = 1 + SPECIES.loopBound(width - 2);
+        var x = 1;
+        for (; x < bound; x += SPECIES.length()) {
+            var left = mineBits(ByteVector.fromArray(SPECIES, board, offset + x - 1));
+            var center = mineBits(ByteVector.fromArray(SPECIES, board, offset + x));
+            var right = mineBits(ByteVector.fromArray(SPECIES, board, offset + x + 1));
+            left.add(center).add(right).intoArray(sums, x);
+        }
+
+        sums[0] = (byte) (ScalarPasses.mineBit(board[offset]) + ScalarPasses.mineBit(board[offset + 1]));
+        for (; x < width - 1; x++) {
+            sums[x] = (byte) (ScalarPasses.mineBit(board[offset + x - 1])
+                    + ScalarPasses.mineBit(board[offset + x])
+                    + ScalarPasses.mineBit(board[offset + x + 1]));
+        }
+        sums[width - 1] = (byte) (ScalarPasses.mineBit(board[offset + width - 2])
+                + ScalarPasses.mineBit(board[offset + width - 1]));
+    }
+
+    @Override
+    public void addNumbers(byte[] board, int offset, int width, byte[] above, byte[] current, byte[] below) {
+        var bound = SPECIES.loopBound(width);
+        for (int x = 0; x < bound; x += SPECIES.length()) {
+            var cells = ByteVector.fromArray(SPECIES, board, offset + x);
+            var safe = cells.and((byte) Cell.MINE).compare(VectorOperators.EQ, 0);
+            var sum = ByteVector.fromArray(SPECIES, above, x)
+                    .add(ByteVector.fromArray(SPECIES, current, x))
+                    .add(ByteVector.fromArray(SPECIES, below, x));
+            cells.lanewise(VectorOperators.OR, sum, safe).intoArray(board, offset + x);
+        }
+        for (int x = bound; x < width; x++) {
+            if (!Cell.mine(board[offset + x])) {
+                board[offset + x] |= (byte) (above[x] + current[x] + below[x]);
+            }
+        }
+    }
+
+    private static ByteVector mineBits(ByteVector cells) {
+        return cells.lanewise(VectorOperators.LSHR, 5).and((byte) 1);
+    }
+
+    private static ByteVector misplaced(ByteVector cells) {
+        return cells.lanewise(VectorOperators.LSHR, 5)
+                .lanewise(VectorOperators.XOR, cells.lanewise(VectorOperators.LSHR, 6))
+                .and((byte) 1);
+    }
+}
@@ -4,8 +4,13 @@ package org.panteleyev.sapper.score;
 
 import org.panteleyev.sapper.game.BoardSize;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
 
-public record GameScore(BoardSize boardSize, LocalDate date, LocalTime time) {
+/**
+ * Result of a won game.
+ *
+ * @param time game time with millisecond precision
+ */
+public record GameScore(BoardSize boardSize, LocalDate date, Duration time) {
 }
@@ -13,7 +13,7 @@ import org.panteleyev.fx.BaseDialog;
 import org.panteleyev.fx.Controller;
 import org.panteleyev.sapper.game.BoardSize;
 
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
 import java.util.Comparator;
 
 import static org.panteleyev.fx.factories.BoxFactory.hBox;
@@ -30,8 +30,6 @@ import static org.panteleyev.sapper.bundles.Internationalization.I18N_RESULTS;
 import static org.panteleyev.sapper.bundles.Internationalization.I18N_TIME;
 
 public class ScoreBoardDialog extends BaseDialog<Object> {
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("m 'minutes' s 'seconds'");
-
     private final GridPane grid = new GridPane(15, 15);
 
     private final Label[] gridHeaders = {
@@ -78,7 +76,7 @@ public class ScoreBoardDialog extends BaseDialog<Object> {
         for (var score : scores) {
             grid.addRow(index++,
                     label(Integer.toString(index - 1)),
-                    label(TIME_FORMATTER.format(score.time())),
+                    label(formatTime(score.time())),
                     label(score.date().toString())
             );
         }
@@ -88,4 +86,11 @@ public class ScoreBoardDialog extends BaseDialog<Object> {
 
         getDialogPane().getScene().getWindow().sizeToScene();
     }
+
+    /**
+     * Formats time as m:ss.SSS, minutes are not limited to an hour. No words, so nothing needs translation.
+     */
+    private static String formatTime(Duration time) {
+        return String.format("%d:%02d.%03d", time.toMinutes(), time.toSecondsPart(), time.toMillisPart());
+    }
 }
@@ -0,0 +1,329 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.score;
+
+import org.panteleyev.sapper.game.BoardSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary score storage: snapshot of best scores and journal of scores saved since the snapshot was written. Each
+ * saved score is appended to the journal as a fixed size record with CRC32, so saving does not depend on the number
+ * of scores. Journal that grew over the compaction threshold is compacted: scores of the snapshot and the journal are
+ * merged into a new snapshot and the journal is removed.
+ * <p>
+ * Records are numbered. Snapshot keeps number of the last record it includes, records left in the journal by an
+ * interrupted compaction are skipped.
+ * <p>
+ * Files are never deleted because they cannot be read. Reading stops at the first damaged record. A partial record
+ * at the end of the journal is an interrupted append and is cut by the next append, any other damage is kept in a
+ * copy of the file under {@code .corrupt} name first. File with damaged header is moved aside under {@code .corrupt}
+ * name. File of a format version this build does not know fails the read, and nothing is written until a read
+ * succeeds.
+ * <p>
+ * Record layout, big endian:
+ * <pre>
+ * 0  long  sequence
+ * 8  short width
+ * 10 short height
+ * 12 int   mines
+ * 16 int   date, epoch day
+ * 20 long  time, milliseconds
+ * 28 int   CRC32 of bytes 0-27
+ * </pre>
+ * Thread safe.
+ */
+final class ScoreJournal {
+    private record Entry(long sequence, GameScore score) {
+    }
+
+    static final int RECORD_SIZE = 32;
+    static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private static final int CRC_OFFSET = RECORD_SIZE - Integer.BYTES;
+
+    // Magic is three letters and format version
+    private static final int VERSION_MASK = 0xFF;
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    // "SPJ1"
+    private static final int JOURNAL_MAGIC = 0x53504A31;
+    private static final int JOURNAL_HEADER_SIZE = Integer.BYTES;
+
+    // "SPS1", last sequence, number of records
+    private static final int SNAPSHOT_MAGIC = 0x53505331;
+    private static final int SNAPSHOT_HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private final int compactionThreshold;
+
+    private final Set<Path> copied = new HashSet<>();
+
+    private boolean scanned;
+    // Last read failed, files are not written
+    private boolean failed;
+    // Last record number used
+    private long sequence;
+    // Last record number included into the snapshot
+    private long snapshotSequence;
+    private int journalRecords;
+    // Length of the journal up to the first damaged record
+    private long journalLength;
+
+    ScoreJournal(Path journalFile, Path snapshotFile) {
+        this(journalFile, snapshotFile, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    ScoreJournal(Path journalFile, Path snapshotFile, int compactionThreshold) {
+        this.journalFile = journalFile;
+        this.snapshotFile = snapshotFile;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    synchronized boolean exists() {
+        return Files.exists(journalFile) || Files.exists(snapshotFile);
+    }
+
+    /**
+     * Returns total size of the snapshot and the journal in bytes.
+     */
+    synchronized long size() throws IOException {
+        return (Files.exists(snapshotFile) ? Files.size(snapshotFile) : 0)
+                + (Files.exists(journalFile) ? Files.size(journalFile) : 0);
+    }
+
+    /**
+     * Reads scores of the snapshot followed by scores of the journal in order they were saved.
+     */
+    synchronized void read(Consumer<GameScore> consumer) throws IOException {
+        failed = true;
+        sequence = 0;
+        snapshotSequence = 0;
+        journalRecords = 0;
+        journalLength = 0;
+
+        if (Files.exists(snapshotFile)) {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if (checkHeader(snapshotFile, buffer, SNAPSHOT_HEADER_SIZE, SNAPSHOT_MAGIC)) {
+                snapshotSequence = buffer.getLong();
+                var count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    var entry = readRecord(buffer);
+                    if (entry == null) {
+                        // Snapshot is written at once, it has no partial records
+                        copyAside(snapshotFile);
+                        break;
+                    }
+                    consumer.accept(entry.score());
+                }
+            }
+        }
+        sequence = snapshotSequence;
+
+        if (Files.exists(journalFile)) {
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+            if (checkHeader(journalFile, buffer, JOURNAL_HEADER_SIZE, JOURNAL_MAGIC)) {
+                journalLength = JOURNAL_HEADER_SIZE;
+                Entry entry;
+                while ((entry = readRecord(buffer)) != null) {
+                    if (entry.sequence() > snapshotSequence) {
+                        consumer.accept(entry.score());
+                    }
+                    sequence = Math.max(sequence, entry.sequence());
+                    journalRecords++;
+                    journalLength += RECORD_SIZE;
+                }
+                // Next append cuts the journal here
+                if (buffer.remaining() >= RECORD_SIZE) {
+                    copyAside(journalFile);
+                }
+            }
+        }
+        scanned = true;
+        failed = false;
+    }
+
+    /**
+     * Reads header magic. File with damaged header is moved aside.
+     *
+     * @return true if header is valid, false if file was moved aside
+     * @throws IOException if file has format version this build does not know
+     */
+    private static boolean checkHeader(Path file, ByteBuffer buffer, int headerSize, int magic) throws IOException {
+        if (buffer.remaining() >= headerSize) {
+            var fileMagic = buffer.getInt();
+            if (fileMagic == magic) {
+                return true;
+            }
+            if ((fileMagic & ~VERSION_MASK) == (magic & ~VERSION_MASK)) {
+                throw new IOException("Unsupported format version " + (char) (fileMagic & VERSION_MASK) + " of "
+                        + file);
+            }
+        }
+        Files.move(file, corruptFile(file));
+        return false;
+    }
+
+    private void copyAside(Path file) throws IOException {
+        // Damage stays in the file until it is rewritten, one copy is enough
+        if (copied.add(file)) {
+            Files.copy(file, corruptFile(file));
+        }
+    }
+
+    /**
+     * Returns unused name for the damaged file: {@code name.corrupt}, {@code name.1.corrupt} and so on.
+     */
+    private static Path corruptFile(Path file) {
+        var name = file.getFileName().toString();
+        var result = file.resolveSibling(name + CORRUPT_SUFFIX);
+        for (int i = 1; Files.exists(result); i++) {
+            result = file.resolveSibling(name + "." + i + CORRUPT_SUFFIX);
+        }
+        return result;
+    }
+
+    /**
+     * Appends score to the journal.
+     *
+     * @return true if journal should be compacted
+     */
+    synchronized boolean append(GameScore score) throws IOException {
+        checkWritable();
+
+        try (var channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (journalLength == 0) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.allocate(JOURNAL_HEADER_SIZE).putInt(JOURNAL_MAGIC).flip(), 0);
+                journalLength = JOURNAL_HEADER_SIZE;
+            } else if (channel.size() > journalLength) {
+                channel.truncate(journalLength);
+                copied.remove(journalFile);
+            }
+
+            var record = ByteBuffer.allocate(RECORD_SIZE);
+            writeRecord(record, sequence + 1, score);
+            channel.write(record.flip(), journalLength);
+        }
+
+        sequence++;
+        journalRecords++;
+        journalLength += RECORD_SIZE;
+        return journalRecords >= compactionThreshold;
+    }
+
+    /**
+     * Merges the journal into the snapshot if it is over the compaction threshold.
+     */
+    synchronized void compact() throws IOException {
+        checkWritable();
+        if (journalRecords < compactionThreshold) return;
+
+        var merged = new Scoreboard();
+        read(merged::add);
+        writeSnapshot(merged.getAllScores(), sequence);
+    }
+
+    /**
+     * Replaces stored scores with the given ones.
+     */
+    synchronized void replace(Collection<GameScore> scores) throws IOException {
+        checkWritable();
+        writeSnapshot(scores, sequence);
+    }
+
+    /**
+     * Reads the files before the first write. Files are not written after a failed read, scores they keep would be
+     * lost.
+     */
+    private void checkWritable() throws IOException {
+        if (failed) {
+            throw new IOException("Score files were not read, not writing " + journalFile);
+        }
+        if (!scanned) {
+            read(_ -> {});
+        }
+    }
+
+    private void writeSnapshot(Collection<GameScore> scores, long lastSequence) throws IOException {
+        var buffer = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE + scores.size() * RECORD_SIZE)
+                .putInt(SNAPSHOT_MAGIC)
+                .putLong(lastSequence)
+                .putInt(scores.size());
+        for (var score : scores) {
+            writeRecord(buffer, 0, score);
+        }
+
+        var tmpFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            channel.write(buffer.flip());
+            channel.force(true);
+        }
+        Files.move(tmpFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // All records of the journal are in the snapshot now
+        Files.deleteIfExists(journalFile);
+        copied.clear();
+
+        snapshotSequence = lastSequence;
+        journalRecords = 0;
+        journalLength = 0;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, long sequence, GameScore score) {
+        var start = buffer.position();
+        buffer.putLong(sequence)
+                .putShort((short) score.boardSize().width())
+                .putShort((short) score.boardSize().height())
+                .putInt(score.boardSize().mines())
+                .putInt((int) score.date().toEpochDay())
+                .putLong(score.time().toMillis());
+
+        var crc = new CRC32();
+        crc.update(buffer.slice(start, CRC_OFFSET));
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * @return record at the buffer position or null if there is no complete valid record
+     */
+    private static Entry readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_SIZE) return null;
+
+        var start = buffer.position();
+        var crc = new CRC32();
+        crc.update(buffer.slice(start, CRC_OFFSET));
+        if ((int) crc.getValue() != buffer.getInt(start + CRC_OFFSET)) return null;
+
+        var sequence = buffer.getLong();
+        var width = Short.toUnsignedInt(buffer.getShort());
+        var height = Short.toUnsignedInt(buffer.getShort());
+        var mines = buffer.getInt();
+        var epochDay = buffer.getInt();
+        var millis = buffer.getLong();
+        buffer.getInt();
+
+        try {
+            return new Entry(sequence, new GameScore(new BoardSize(width, height, mines),
+                    LocalDate.ofEpochDay(epochDay), Duration.ofMillis(millis)));
+        } catch (IllegalArgumentException ex) {
+            buffer.position(start);
+            return null;
+        }
+    }
+}
@@ -8,15 +8,18 @@ import org.panteleyev.sapper.ApplicationFiles;
 import org.panteleyev.sapper.game.BoardSize;
 import org.w3c.dom.Element;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
@@ -26,9 +29,22 @@ import static org.panteleyev.sapper.XMLUtils.createDocument;
 import static org.panteleyev.sapper.XMLUtils.readDocument;
 import static org.panteleyev.sapper.XMLUtils.writeDocument;
 
+/**
+ * Best results per board size. Thread safe, results may be saved from the engine thread.
+ * <p>
+ * Results are stored in {@link ScoreJournal}, XML format is used for scores of older versions and for export.
+ */
 public class Scoreboard {
+    private static final System.Logger LOGGER = System.getLogger(Scoreboard.class.getName());
+
     private static final int TOP_SIZE = 10;
 
+    private static final ExecutorService COMPACTION = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "sapper-score-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static final String XML_ROOT = "Scores";
     private static final String XML_ELEMENT = "Score";
 
@@ -36,40 +52,61 @@ public class Scoreboard {
     private static final String ATTR_HEIGHT = "height";
     private static final String ATTR_MINES = "mines";
     private static final String ATTR_DATE = "date";
+    // Whole seconds, kept for older versions
     private static final String ATTR_TIME = "time";
+    private static final String ATTR_MILLIS = "millis";
 
     private final Map<BoardSize, List<GameScore>> scores = new HashMap<>();
 
+    private ScoreJournal journal;
+    // Scores were not loaded, stored ones would be lost by writing
+    private volatile boolean loadFailed;
+
     public Scoreboard() {
         scores.put(BoardSize.SMALL, new ArrayList<>());
         scores.put(BoardSize.MEDIUM, new ArrayList<>());
         scores.put(BoardSize.BIG, new ArrayList<>());
     }
 
-    public List<BoardSize> getBoardSizes() {
+    Scoreboard(ScoreJournal journal) {
+        this();
+        this.journal = journal;
+    }
+
+    private synchronized ScoreJournal journal() {
+        if (journal == null) {
+            journal = new ScoreJournal(
+                    files().getPath(ApplicationFiles.AppFile.SCORES_JOURNAL),
+                    files().getPath(ApplicationFiles.AppFile.SCORES_SNAPSHOT)
+            );
+        }
+        return journal;
+    }
+
+    public synchronized List<BoardSize> getBoardSizes() {
         return scores.keySet().stream().toList();
     }
 
-    public List<GameScore> getScores(BoardSize boardSize) {
-        return scores.computeIfAbsent(boardSize, _ -> new ArrayList<>());
+    public synchronized List<GameScore> getScores(BoardSize boardSize) {
+        return List.copyOf(scoresOf(boardSize));
     }
 
-    public boolean add(GameScore score) {
-        var current = getScores(score.boardSize());
+    public synchronized boolean add(GameScore score) {
+        var current = scoresOf(score.boardSize());
         if (current.isEmpty()) {
             current.add(score);
             return true;
         }
 
         current.sort(Comparator.comparing(GameScore::time));
-        var newTop = score.time().isBefore(current.getFirst().time());
+        var newTop = score.time().compareTo(current.getFirst().time()) < 0;
 
         if (current.size() < TOP_SIZE) {
             current.add(score);
             return newTop;
         }
 
-        if (score.time().isBefore(current.getLast().time())) {
+        if (score.time().compareTo(current.getLast().time()) < 0) {
             current.removeLast();
             current.add(score);
             return newTop;
@@ -78,39 +115,154 @@ public class Scoreboard {
         return false;
     }
 
+    /**
+     * Appends score to the journal. Journal that grew too large is compacted in background. Failures are logged,
+     * the score stays on the board until the application exits.
+     */
+    public void save(GameScore score) {
+        if (loadFailed) {
+            LOGGER.log(System.Logger.Level.WARNING, "Score " + score + " is not saved, scores were not loaded");
+            return;
+        }
+
+        var event = new ScoreboardEvent();
+        event.begin();
+        var journal = journal();
+        boolean compact;
+        try {
+            compact = journal.append(score);
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.ERROR, "Score " + score + " cannot be saved", ex);
+            return;
+        }
+        commit(event, "append");
+
+        if (compact) {
+            COMPACTION.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        var event = new ScoreboardEvent();
+        event.begin();
+        try {
+            journal().compact();
+        } catch (IOException ex) {
+            // Journal is kept as is, compaction is retried after the next append
+            LOGGER.log(System.Logger.Level.WARNING, "Score journal cannot be compacted", ex);
+            return;
+        }
+        commit(event, "compact");
+    }
+
+    /**
+     * Replaces stored scores with all current scores.
+     */
     public void save() {
-        files().write(ApplicationFiles.AppFile.SCORES, this::save);
+        checkLoaded();
+        var event = new ScoreboardEvent();
+        event.begin();
+        try {
+            journal().replace(getAllScores());
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        commit(event, "save");
     }
 
-    public void save(OutputStream outputStream) {
-        var root = createDocument(XML_ROOT);
+    private void checkLoaded() {
+        if (loadFailed) {
+            throw new IllegalStateException("Scores were not loaded, stored scores are not overwritten");
+        }
+    }
 
-        var flatScores = scores.values()
-                .stream()
-                .flatMap(List::stream)
-                .toList();
+    /**
+     * Returns size of stored scores in bytes.
+     */
+    public long getStorageSize() {
+        try {
+            return journal().size();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
 
-        for (var score : flatScores) {
+    public synchronized void save(OutputStream outputStream) {
+        var root = createDocument(XML_ROOT);
+
+        for (var score : getAllScores()) {
             var scoreNode = appendElement(root, XML_ELEMENT);
             scoreNode.setAttribute(ATTR_WIDTH, Integer.toString(score.boardSize().width()));
             scoreNode.setAttribute(ATTR_HEIGHT, Integer.toString(score.boardSize().height()));
             scoreNode.setAttribute(ATTR_MINES, Integer.toString(score.boardSize().mines()));
             scoreNode.setAttribute(ATTR_DATE, Long.toString(score.date().toEpochDay()));
-            scoreNode.setAttribute(ATTR_TIME, Long.toString(score.time().toSecondOfDay()));
+            scoreNode.setAttribute(ATTR_TIME, Long.toString(score.time().toSeconds()));
+            scoreNode.setAttribute(ATTR_MILLIS, Long.toString(score.time().toMillis()));
         }
 
         writeDocument(root.getOwnerDocument(), outputStream);
     }
 
+    synchronized List<GameScore> getAllScores() {
+        return scores.values()
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<GameScore> scoresOf(BoardSize boardSize) {
+        return scores.computeIfAbsent(boardSize, _ -> new ArrayList<>());
+    }
+
+    /**
+     * Loads scores from the journal. Scores of older versions are loaded from XML file and moved to the journal,
+     * XML file is left as is.
+     * <p>
+     * If scores cannot be read the board starts empty and is not saved, so stored scores are kept for the next start.
+     * Damaged files are moved aside by {@link ScoreJournal}, they do not prevent saving.
+     */
     public void load() {
-        files().read(ApplicationFiles.AppFile.SCORES, this::load);
+        var event = new ScoreboardEvent();
+        event.begin();
+        var journal = journal();
+        try {
+            if (journal.exists()) {
+                load(journal);
+            } else {
+                files().read(ApplicationFiles.AppFile.SCORES, this::load);
+                if (scoreCount() > 0) {
+                    journal.replace(getAllScores());
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "Scores cannot be read, scores of this session are not saved", ex);
+            loadFailed = true;
+            synchronized (this) {
+                clear();
+            }
+        }
+        commit(event, "load");
     }
 
-    private void load(InputStream inputStream) {
-        scores.clear();
-        scores.put(BoardSize.SMALL, new ArrayList<>());
-        scores.put(BoardSize.MEDIUM, new ArrayList<>());
-        scores.put(BoardSize.BIG, new ArrayList<>());
+    synchronized void load(ScoreJournal journal) throws IOException {
+        clear();
+        journal.read(this::add);
+    }
+
+    private void commit(ScoreboardEvent event, String operation) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.scores = scoreCount();
+            event.commit();
+        }
+    }
+
+    private synchronized int scoreCount() {
+        return scores.values().stream().mapToInt(List::size).sum();
+    }
+
+    public synchronized void load(InputStream inputStream) {
+        clear();
 
         var root = readDocument(inputStream);
         var nodes = root.getElementsByTagName(XML_ELEMENT);
@@ -120,16 +272,24 @@ public class Scoreboard {
                 var height = parseInt(e.getAttribute(ATTR_HEIGHT));
                 var mines = parseInt(e.getAttribute(ATTR_MINES));
                 var epochDay = parseLong(e.getAttribute(ATTR_DATE));
-                var seconds = parseLong(e.getAttribute(ATTR_TIME));
+                var millis = e.hasAttribute(ATTR_MILLIS)
+                        ? parseLong(e.getAttribute(ATTR_MILLIS))
+                        : parseLong(e.getAttribute(ATTR_TIME)) * 1000;
 
                 var score = new GameScore(
                         new BoardSize(width, height, mines),
                         LocalDate.ofEpochDay(epochDay),
-                        LocalTime.ofSecondOfDay(seconds)
+                        Duration.ofMillis(millis)
                 );
-                var list = getScores(score.boardSize());
-                list.add(score);
+                scoresOf(score.boardSize()).add(score);
             }
         }
     }
+
+    private void clear() {
+        scores.clear();
+        scores.put(BoardSize.SMALL, new ArrayList<>());
+        scores.put(BoardSize.MEDIUM, new ArrayList<>());
+        scores.put(BoardSize.BIG, new ArrayList<>());
+    }
 }
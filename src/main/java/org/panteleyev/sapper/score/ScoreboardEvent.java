@@ -0,0 +1,19 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.score;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.Scoreboard")
+@Label("Scoreboard")
+@Category({"Sapper", "Persistence"})
+final class ScoreboardEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Scores")
+    int scores;
+}
@@ -9,6 +9,7 @@ import org.panteleyev.sapper.game.BoardSize;
 import org.w3c.dom.Element;
 
 import java.io.OutputStream;
+import java.time.Duration;
 import java.util.function.Consumer;
 
 import static org.panteleyev.sapper.XMLUtils.appendElement;
@@ -17,32 +18,53 @@ import static org.panteleyev.sapper.XMLUtils.getAttribute;
 import static org.panteleyev.sapper.XMLUtils.readDocument;
 import static org.panteleyev.sapper.XMLUtils.writeDocument;
 
+/**
+ * Application settings. Thread safe.
+ */
 public final class Settings {
     private static final String ROOT_ELEMENT = "settings";
     private static final String LAST_BOARD_SIZE_ELEMENT = "lastBoardSize";
+    private static final String REVEAL_FRAME_BUDGET_ELEMENT = "revealFrameBudget";
+
+    private static final Duration DEFAULT_REVEAL_FRAME_BUDGET = Duration.ofMillis(4);
 
     private final ApplicationFiles files;
 
     private BoardSize lastBoardSize = BoardSize.BIG;
+    private Duration revealFrameBudget = DEFAULT_REVEAL_FRAME_BUDGET;
 
     public Settings(ApplicationFiles files) {
         this.files = files;
     }
 
-    public void update(Consumer<Settings> block) {
+    public synchronized void update(Consumer<Settings> block) {
+        var event = new SettingsUpdateEvent();
+        event.begin();
         block.accept(this);
         files.write(ApplicationFiles.AppFile.SETTINGS, this::save);
+        event.commit();
     }
 
-    public void setLastBoardSize(BoardSize lastBoardSize) {
+    public synchronized void setLastBoardSize(BoardSize lastBoardSize) {
         this.lastBoardSize = lastBoardSize;
     }
 
-    public BoardSize getLastBoardSize() {
+    public synchronized BoardSize getLastBoardSize() {
         return lastBoardSize;
     }
 
-    public void load() {
+    public synchronized void setRevealFrameBudget(Duration revealFrameBudget) {
+        this.revealFrameBudget = revealFrameBudget;
+    }
+
+    /**
+     * Returns time per frame the board may spend painting changed cells, the rest is painted in the next frames.
+     */
+    public synchronized Duration getRevealFrameBudget() {
+        return revealFrameBudget;
+    }
+
+    public synchronized void load() {
         files.read(ApplicationFiles.AppFile.SETTINGS, in -> {
             var root = readDocument(in);
             var lastBoardSizeNodes = root.getElementsByTagName(LAST_BOARD_SIZE_ELEMENT);
@@ -53,6 +75,14 @@ public final class Settings {
                 var mines = getAttribute(lastBoardSizeElement, "mines", BoardSize.BIG.mines());
                 lastBoardSize = new BoardSize(width, height, mines);
             }
+
+            var revealFrameBudgetNodes = root.getElementsByTagName(REVEAL_FRAME_BUDGET_ELEMENT);
+            if (revealFrameBudgetNodes.getLength() != 0) {
+                var revealFrameBudgetElement = (Element)revealFrameBudgetNodes.item(0);
+                var millis = getAttribute(revealFrameBudgetElement, "millis",
+                        (int) DEFAULT_REVEAL_FRAME_BUDGET.toMillis());
+                revealFrameBudget = Duration.ofMillis(Math.max(1, millis));
+            }
         });
     }
 
@@ -62,6 +92,8 @@ public final class Settings {
         e.setAttribute("width", Integer.toString(lastBoardSize.width()));
         e.setAttribute("height", Integer.toString(lastBoardSize.height()));
         e.setAttribute("mines", Integer.toString(lastBoardSize.mines()));
+        var budget = appendElement(root, REVEAL_FRAME_BUDGET_ELEMENT);
+        budget.setAttribute("millis", Long.toString(revealFrameBudget.toMillis()));
         writeDocument(root.getOwnerDocument(), out);
     }
 }
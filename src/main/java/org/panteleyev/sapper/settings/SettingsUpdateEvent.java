@@ -0,0 +1,14 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.settings;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.panteleyev.sapper.SettingsUpdate")
+@Label("Settings Update")
+@Category({"Sapper", "Persistence"})
+final class SettingsUpdateEvent extends Event {
+}
@@ -0,0 +1,125 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.Cell;
+import org.panteleyev.sapper.game.GameStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameEngineTest {
+    // Test thread plays the role of the UI thread
+    private final BlockingQueue<Runnable> uiTasks = new LinkedBlockingQueue<>();
+    private final List<GameEngine.Batch> batches = new ArrayList<>();
+    private final SapperMetrics metrics = new SapperMetrics();
+    private final GameEngine engine = new GameEngine(batches::add, uiTasks::add, metrics);
+
+    @AfterEach
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    public void testBatches() throws InterruptedException {
+        engine.newGame(BoardSize.BIG, 1L);
+        engine.processHit(0);
+        waitForEngine();
+
+        var statuses = batches.stream()
+                .flatMap(batch -> batch.statusChanges().stream())
+                .map(GameEngine.StatusChange::status)
+                .toList();
+        assertEquals(List.of(GameStatus.IN_PROGRESS), statuses);
+
+        var last = batches.getLast();
+        assertTrue(last.cells().length > 0);
+        for (var value : last.values()) {
+            assertTrue(Cell.isExplored(value));
+        }
+        assertEquals(BoardSize.BIG.mines(), last.remainingMines());
+
+        assertEquals(Map.of(BoardSize.BIG.toString(), 1L), metrics.getGamesStarted());
+        assertEquals(1, metrics.getReveals());
+        assertEquals(last.cells().length, metrics.getLargestReveal());
+    }
+
+    @Test
+    public void testCloseWaitsForQueuedTasks() {
+        var done = new AtomicBoolean();
+        engine.execute(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            done.set(true);
+        });
+        engine.close();
+        assertTrue(done.get());
+    }
+
+    @Test
+    public void testBatchesOfReplacedGameAreDropped() throws InterruptedException {
+        engine.newGame(BoardSize.BIG, 1L);
+        engine.processHit(0);
+        engine.newGame(BoardSize.SMALL, 1L);
+        waitForEngine();
+
+        assertEquals(1, batches.size());
+        assertEquals(0, batches.getFirst().cells().length);
+        assertEquals(BoardSize.SMALL.mines(), batches.getFirst().remainingMines());
+    }
+
+    @Test
+    public void testFailedCommandIsPublished() throws InterruptedException {
+        engine.newGame(BoardSize.BIG, 1L);
+        engine.processHit(0);
+        waitForEngine();
+        var opened = new HashSet<Integer>();
+        for (var batch : batches) {
+            Arrays.stream(batch.cells()).forEach(opened::add);
+        }
+        var covered = IntStream.range(0, BoardSize.BIG.cells())
+                .filter(x -> !opened.contains(x))
+                .findFirst()
+                .orElseThrow();
+
+        // Hit outside of the board fails
+        batches.clear();
+        engine.processHit(BoardSize.BIG.cells());
+        engine.toggleFlag(covered);
+        waitForEngine();
+
+        assertEquals(2, batches.size());
+        assertEquals(0, batches.getFirst().cells().length);
+        assertArrayEquals(new int[]{covered}, batches.getLast().cells());
+        assertEquals(BoardSize.BIG.mines() - 1, batches.getLast().remainingMines());
+    }
+
+    private void waitForEngine() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        engine.execute(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        for (var task = uiTasks.poll(); task != null; task = uiTasks.poll()) {
+            task.run();
+        }
+    }
+}
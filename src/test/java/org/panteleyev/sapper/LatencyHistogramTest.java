@@ -0,0 +1,66 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    private static List<Arguments> testPercentiles() {
+        return List.of(
+                Arguments.of(50.0, 500),
+                Arguments.of(90.0, 900),
+                Arguments.of(99.0, 990),
+                Arguments.of(100.0, 1000)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void testPercentiles(double percentile, long expectedMicros) {
+        var histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        var expected = expectedMicros * 1000;
+        var actual = histogram.getValueAtPercentile(percentile);
+        assertTrue(actual >= expected && actual <= expected + expected / 32,
+                "Percentile " + percentile + ": " + actual);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        var histogram = new LatencyHistogram();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(4, histogram.getValueAtPercentile(50));
+        assertEquals(9, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testStatistics() {
+        var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(Long.MAX_VALUE / 2);
+        assertEquals(3, histogram.getCount());
+        assertEquals(Long.MAX_VALUE / 2, histogram.getMax());
+        assertEquals(Long.MAX_VALUE / 2, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+    }
+}
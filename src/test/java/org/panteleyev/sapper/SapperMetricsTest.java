@@ -0,0 +1,60 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.junit.jupiter.api.Test;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SapperMetricsTest {
+    @Test
+    public void testCounters() {
+        var metrics = new SapperMetrics();
+        metrics.onStatusChanged(BoardSize.SMALL, GameStatus.IN_PROGRESS);
+        metrics.onStatusChanged(BoardSize.SMALL, GameStatus.SUCCESS);
+        metrics.onStatusChanged(BoardSize.BIG, GameStatus.IN_PROGRESS);
+        metrics.onStatusChanged(BoardSize.BIG, GameStatus.FAILURE);
+        metrics.onStatusChanged(BoardSize.BIG, GameStatus.IN_PROGRESS);
+
+        assertEquals(2L, metrics.getGamesStarted().get(BoardSize.BIG.toString()));
+        assertEquals(1L, metrics.getGamesWon().get(BoardSize.SMALL.toString()));
+        assertEquals(1L, metrics.getGamesLost().get(BoardSize.BIG.toString()));
+
+        metrics.onReveal(10, 2_000_000);
+        metrics.onReveal(30, 4_000_000);
+        assertEquals(2, metrics.getReveals());
+        assertEquals(30, metrics.getLargestReveal());
+        assertEquals(3.0, metrics.getAverageRevealMillis(), 1e-9);
+        assertEquals(4.0, metrics.getMaxRevealMillis(), 1e-9);
+        assertEquals(2.0 / 60, metrics.getRevealsPerSecond(), 1e-9);
+
+        metrics.onScoresWritten(1_000_000, 500);
+        metrics.onScoresWritten(3_000_000, 600);
+        assertEquals(2.0, metrics.getAverageScoreWriteMillis(), 1e-9);
+        assertEquals(600, metrics.getScoreFileBytes());
+    }
+
+    @Test
+    public void testRegistration() throws JMException {
+        var metrics = new SapperMetrics();
+        metrics.onStatusChanged(BoardSize.MEDIUM, GameStatus.SUCCESS);
+        metrics.register();
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(SapperMetrics.OBJECT_NAME);
+        try {
+            var won = (TabularData) server.getAttribute(name, "GamesWon");
+            assertEquals(1, won.size());
+            assertEquals(0L, server.getAttribute(name, "Reveals"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
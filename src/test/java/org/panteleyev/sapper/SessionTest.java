@@ -0,0 +1,43 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import javafx.scene.input.MouseButton;
+import org.junit.jupiter.api.Test;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SessionTest {
+    @Test
+    public void testSaveLoad() {
+        var session = new Session(BoardSize.MEDIUM, -42L, List.of(
+                new Session.Click(136, MouseButton.PRIMARY),
+                new Session.Click(0, MouseButton.SECONDARY),
+                new Session.Click(255, MouseButton.MIDDLE)
+        ), GameStatus.FAILURE);
+
+        var out = new ByteArrayOutputStream();
+        session.write(out);
+
+        assertEquals(session, Session.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    public void testClickOutsideBoard() {
+        var xml = """
+                <Session width="8" height="8" mines="10" seed="1" result="SUCCESS">
+                    <Click cell="64" button="PRIMARY"/>
+                </Session>
+                """;
+        assertThrows(IllegalArgumentException.class,
+                () -> Session.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+    }
+}
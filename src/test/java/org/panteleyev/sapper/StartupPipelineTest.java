@@ -0,0 +1,59 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupPipelineTest {
+    @Test
+    public void testDependencies() {
+        var pipeline = new StartupPipeline();
+        var order = new CopyOnWriteArrayList<String>();
+
+        var first = pipeline.step("first", () -> order.add("first"));
+        var second = pipeline.step("second", () -> order.add("second"), first);
+        var third = pipeline.step("third", () -> order.add("third"), first, second);
+        StartupPipeline.await(third);
+        pipeline.run("last", () -> order.add("last"));
+        pipeline.whenFinished().join();
+
+        assertEquals(List.of("first", "second", "third", "last"), order);
+
+        var phases = pipeline.getPhases();
+        assertEquals(order, phases.stream().map(StartupPipeline.Phase::name).toList());
+        for (int i = 1; i < phases.size(); i++) {
+            assertTrue(phases.get(i).start() >= phases.get(i - 1).end());
+        }
+        assertTrue(pipeline.report().contains("third"));
+    }
+
+    @Test
+    public void testFailure() {
+        var pipeline = new StartupPipeline();
+        var failed = pipeline.step("failed", () -> {
+            throw new IllegalStateException();
+        });
+        var dependent = pipeline.step("dependent", () -> {}, failed);
+
+        assertThrows(IllegalStateException.class, () -> StartupPipeline.await(dependent));
+        assertEquals(List.of("failed"), pipeline.getPhases().stream().map(StartupPipeline.Phase::name).toList());
+    }
+
+    @Test
+    public void testIndependentSteps() {
+        var pipeline = new StartupPipeline();
+        var started = new CompletableFuture<Void>();
+        // The first step can finish only if the second one runs concurrently
+        var first = pipeline.step("first", started::join);
+        var second = pipeline.step("second", () -> started.complete(null));
+        StartupPipeline.await(first, second);
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.panteleyev.sapper.game.BoardSize;
+import org.panteleyev.sapper.game.GameStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrainingRunTest {
+    private static List<Arguments> testScript() {
+        return List.of(
+                Arguments.of(BoardSize.SMALL, true, GameStatus.SUCCESS),
+                Arguments.of(BoardSize.BIG, true, GameStatus.SUCCESS),
+                Arguments.of(BoardSize.BIG, false, GameStatus.FAILURE),
+                Arguments.of(new BoardSize(100, 100, 500), true, GameStatus.SUCCESS)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void testScript(BoardSize boardSize, boolean win, GameStatus expected) {
+        var session = TrainingRun.script(boardSize, 1L, win);
+        assertEquals(expected, session.result());
+        assertEquals(boardSize, session.boardSize());
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class AdjacencyTest {
+    private static List<Arguments> testNeighboursArguments() {
+        return List.of(
+                Arguments.of(Topology.RECTANGULAR, 8, 8, 0, new int[]{1, 8, 9}),
+                Arguments.of(Topology.RECTANGULAR, 8, 8, 9, new int[]{0, 1, 2, 8, 10, 16, 17, 18}),
+                Arguments.of(Topology.TORUS, 8, 8, 0, new int[]{63, 56, 57, 7, 1, 15, 8, 9}),
+                Arguments.of(Topology.TORUS, 8, 9, 71, new int[]{62, 63, 56, 70, 64, 6, 7, 0}),
+                Arguments.of(Topology.HEXAGONAL, 8, 8, 0, new int[]{1, 8}),
+                Arguments.of(Topology.HEXAGONAL, 8, 8, 10, new int[]{2, 3, 9, 11, 18, 19}),
+                Arguments.of(Topology.HEXAGONAL, 8, 8, 18, new int[]{9, 10, 17, 19, 25, 26}),
+                Arguments.of(Topology.HEXAGONAL, 8, 8, 15, new int[]{7, 14, 23})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testNeighboursArguments")
+    public void testNeighbours(Topology topology, int width, int height, int cell, int[] expected) {
+        var result = new int[Topology.MAX_NEIGHBOURS];
+        var count = Adjacency.of(topology, width, height).neighbours(cell, result);
+        assertArrayEquals(expected, Arrays.copyOf(result, count));
+    }
+
+    private static List<Arguments> testAllCellsArguments() {
+        var arguments = new ArrayList<Arguments>();
+        for (var topology : Topology.values()) {
+            arguments.add(Arguments.of(topology, 8, 8));
+            arguments.add(Arguments.of(topology, 9, 11));
+            arguments.add(Arguments.of(topology, 30, 16));
+            arguments.add(Arguments.of(topology, 30, 23));
+        }
+        return arguments;
+    }
+
+    @ParameterizedTest
+    @MethodSource("testAllCellsArguments")
+    public void testAllCells(Topology topology, int width, int height) {
+        var adjacency = Adjacency.of(topology, width, height);
+        var expected = new int[Topology.MAX_NEIGHBOURS];
+        var actual = new int[Topology.MAX_NEIGHBOURS];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                var expectedCount = topology.neighbours(x, y, width, height, expected);
+                var actualCount = adjacency.neighbours(y * width + x, actual);
+                assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, actualCount));
+            }
+        }
+    }
+}
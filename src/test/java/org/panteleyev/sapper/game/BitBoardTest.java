@@ -0,0 +1,74 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitBoardTest {
+    private static final long SEED = 20260201L;
+
+    private static List<Arguments> testSameAsBoardArguments() {
+        var arguments = new ArrayList<Arguments>();
+        for (var topology : Topology.values()) {
+            arguments.add(Arguments.of(topology, BoardSize.SMALL, 0));
+            arguments.add(Arguments.of(topology, BoardSize.BIG, 255));
+            arguments.add(Arguments.of(topology, new BoardSize(64, 10, 60), 63));
+            arguments.add(Arguments.of(topology, new BoardSize(129, 9, 100), 600));
+            arguments.add(Arguments.of(topology, new BoardSize(2000, 1000, 150_000), 1_000_500));
+            arguments.add(Arguments.of(topology, new BoardSize(4999, 9, 3000), 20_000));
+        }
+        return arguments;
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSameAsBoardArguments")
+    public void testSameAsBoard(Topology topology, BoardSize boardSize, int center) {
+        var board = new Board();
+        board.setup(boardSize, topology);
+        var bitBoard = new BitBoard();
+        bitBoard.setup(boardSize, topology);
+
+        bitBoard.toggleFlag(1);
+        board.toggleFlag(1);
+
+        board.initialize(center, SEED);
+        bitBoard.initialize(center, SEED);
+        for (int x = 0; x < boardSize.cells(); x++) {
+            assertEquals(board.getValue(x), bitBoard.getValue(x));
+        }
+
+        var expected = new BitSet();
+        board.reveal(center, (x, _) -> expected.set(x));
+        var opened = new BitSet();
+        bitBoard.reveal(center, (x, _) -> opened.set(x));
+        assertEquals(expected, opened);
+
+        for (int x = 0; x < boardSize.cells(); x++) {
+            assertEquals(board.getValue(x), bitBoard.getValue(x));
+        }
+        assertEquals(board.getRemainingMines(), bitBoard.getRemainingMines());
+        assertEquals(board.hasUnexploredCells(), bitBoard.hasUnexploredCells());
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSameAsBoardArguments")
+    public void testOpenCellsAreFinal(Topology topology, BoardSize boardSize, int center) {
+        var bitBoard = new BitBoard();
+        bitBoard.setup(boardSize, topology);
+        bitBoard.initialize(center, SEED);
+        bitBoard.reveal(center, (_, _) -> {});
+
+        assertTrue(Cell.isExplored(bitBoard.getValue(center)));
+        assertThrows(IllegalArgumentException.class, () -> bitBoard.toggleFlag(center));
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BoardAllocationTest {
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORY_MX_BEAN = ManagementFactory.getMemoryMXBean();
+
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final long SEED = 42L;
+    private static final long MAX_OVERHEAD_BYTES = 16L << 20;
+
+    private int opened;
+
+    private static List<Arguments> testRevealDoesNotAllocateArguments() {
+        return List.of(
+                Arguments.of(BoardSize.BIG, 0),
+                Arguments.of(new BoardSize(30, 24, 10), 360),
+                Arguments.of(new BoardSize(500, 500, 100), 125_250)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testRevealDoesNotAllocateArguments")
+    public void testRevealDoesNotAllocate(BoardSize boardSize, int center) {
+        assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+
+        var board = new Board();
+        Game.CellChangeCallback callback = (_, _) -> opened++;
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            board.setup(boardSize, Topology.RECTANGULAR);
+            board.initialize(center, SEED);
+            board.reveal(center, callback);
+        }
+
+        board.setup(boardSize, Topology.RECTANGULAR);
+        board.initialize(center, SEED);
+        opened = 0;
+
+        var before = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        board.reveal(center, callback);
+        var allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(opened > 1);
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Board keeps one byte per cell. Heap retained after setup, initialization and reveal is measured, garbage of
+     * placement and parallel passes is not counted. Adjacency table is shared by boards of the same geometry and is
+     * built before measurement.
+     */
+    @Test
+    public void testLargeBoardFootprint() {
+        var boardSize = new BoardSize(5000, 5000, 1000);
+        var center = boardSize.cells() / 2 + boardSize.width() / 2;
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, boardSize.width(), boardSize.height());
+
+        var before = usedHeap();
+        var board = new Board();
+        board.setup(boardSize, Topology.RECTANGULAR);
+        board.initialize(center, SEED);
+        board.reveal(center, (_, _) -> opened++);
+        var retained = usedHeap() - before;
+        Reference.reachabilityFence(board);
+        Reference.reachabilityFence(adjacency);
+
+        assertTrue(opened > boardSize.cells() / 2);
+        // Board itself plus the reveal queue
+        assertTrue(retained < boardSize.cells() + MAX_OVERHEAD_BYTES, "Retained " + retained + " bytes");
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        return MEMORY_MX_BEAN.getHeapMemoryUsage().getUsed();
+    }
+}
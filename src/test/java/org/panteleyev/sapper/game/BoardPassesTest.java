@@ -0,0 +1,69 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardPassesTest {
+    private static final byte[] VALUES = {
+            Cell.EMPTY, Cell.EMPTY | 3, Cell.EMPTY_WITH_FLAG, Cell.EMPTY_WITH_FLAG | 8,
+            Cell.MINE, Cell.MINE_WITH_FLAG, 0, 1, 8
+    };
+
+    private static List<Arguments> testSameResultArguments() {
+        return List.of(
+                Arguments.of(8, 8, 1L),
+                Arguments.of(30, 16, 2L),
+                Arguments.of(67, 33, 3L),
+                Arguments.of(1000, 100, 4L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSameResultArguments")
+    public void testScans(int width, int height, long seed) {
+        var random = new Random(seed);
+        var board = new byte[width * height];
+        for (int x = 0; x < board.length; x++) {
+            board[x] = VALUES[random.nextInt(VALUES.length)];
+        }
+
+        var scalar = new ScalarPasses();
+        var vector = new VectorPasses();
+        for (var size : new int[]{board.length, board.length - 1, width + 3}) {
+            assertEquals(scalar.hasUnexploredCells(board, size), vector.hasUnexploredCells(board, size));
+            assertEquals(scalar.getFlagCount(board, size), vector.getFlagCount(board, size));
+            assertArrayEquals(scalar.getCellsToReveal(board, size), vector.getCellsToReveal(board, size));
+        }
+
+        var explored = new byte[board.length];
+        explored[board.length - 1] = Cell.EMPTY;
+        assertTrue(vector.hasUnexploredCells(explored, explored.length));
+        assertFalse(vector.hasUnexploredCells(explored, explored.length - 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testSameResultArguments")
+    public void testCountMines(int width, int height, long seed) {
+        var random = new Random(seed);
+        var expected = new byte[width * height];
+        for (int x = 0; x < expected.length; x++) {
+            expected[x] = (byte) (random.nextInt(4) == 0 ? Cell.MINE : Cell.EMPTY);
+        }
+        var actual = expected.clone();
+
+        new ScalarPasses().countMines(expected, width, height, 0, height);
+        new VectorPasses().countMines(actual, width, height, 0, height);
+        assertArrayEquals(expected, actual);
+    }
+}
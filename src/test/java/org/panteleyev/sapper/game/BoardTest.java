@@ -8,13 +8,21 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 import static java.lang.Integer.MAX_VALUE;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BoardTest {
+    private static final long SEED = 20260101L;
+
     private static List<Arguments> testGetCleanAreaArguments() {
         return List.of(
                 Arguments.of(
@@ -51,103 +59,244 @@ public class BoardTest {
     @ParameterizedTest
     @MethodSource("testGetCleanAreaArguments")
     public void testGetCleanArea(int center, int width, int size, int[] expected) {
-        assertArrayEquals(expected, Board.getCleanArea(center, width, size));
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, width, size / width);
+        assertArrayEquals(expected, Board.getCleanArea(adjacency, center));
     }
 
     private static List<Arguments> testGetUnopenedNeighboursArguments() {
         return List.of(
                 Arguments.of(
-                        0, 5, new int[]{
+                        0, 5, new byte[]{
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.MINE, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
-                        }, new int[]{1, 5, 6, -1, 0, 0, 0, 0, 0}
+                        }, new int[]{1, 5, 6}
                 ),
                 Arguments.of(
-                        0, 5, new int[]{
+                        0, 5, new byte[]{
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, 2, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
-                        }, new int[]{1, 5, -1, 0, 0, 0, 0, 0, 0}
+                        }, new int[]{1, 5}
                 ),
                 Arguments.of(
-                        1, 5, new int[]{
+                        1, 5, new byte[]{
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, 2, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
-                        }, new int[]{0, 2, 5, 7, -1, 0, 0, 0, 0}
+                        }, new int[]{0, 2, 5, 7}
                 ),
                 Arguments.of(
-                        6, 5, new int[]{
+                        6, 5, new byte[]{
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
-                        }, new int[]{0, 1, 2, 5, 7, 10, 11, 12, -1}
+                        }, new int[]{0, 1, 2, 5, 7, 10, 11, 12}
                 ),
                 Arguments.of(
-                        15, 5, new int[]{
+                        15, 5, new byte[]{
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
                                 Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY,
-                        }, new int[]{10, 11, 16, -1, 0, 0, 0, 0, 0}
+                        }, new int[]{10, 11, 16}
                 )
         );
     }
 
     @ParameterizedTest
     @MethodSource("testGetUnopenedNeighboursArguments")
-    public void testGetUnopenedNeighbours(int center, int width, int[] board, int[] expected) {
-        assertArrayEquals(expected, Board.getUnopenedNeighbours(center, width, board, 20));
+    public void testGetUnopenedNeighbours(int center, int width, byte[] board, int[] expected) {
+        var result = new int[8];
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, width, board.length / width);
+        var count = Board.getUnopenedNeighbours(adjacency, center, board, result);
+        assertArrayEquals(expected, Arrays.copyOf(result, count));
     }
 
     private static List<Arguments> testHasUnexploredCellsArguments() {
         return List.of(
                 Arguments.of(
-                        new int[] { Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY}, 3, true
+                        new byte[] { Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.EMPTY}, 3, true
                 ),
                 Arguments.of(
-                        new int[] { Cell.MINE, Cell.MINE, Cell.MINE, Cell.EMPTY}, 3, false
+                        new byte[] { Cell.MINE, Cell.MINE, Cell.MINE, Cell.EMPTY}, 3, false
                 ),
                 Arguments.of(
-                        new int[] { Cell.MINE, Cell.MINE, Cell.EMPTY_WITH_FLAG, Cell.EMPTY}, 3, true
+                        new byte[] { Cell.MINE, Cell.MINE, Cell.EMPTY_WITH_FLAG, Cell.EMPTY}, 3, true
                 ),
                 Arguments.of(
-                        new int[] { Cell.MINE, Cell.MINE, 3, Cell.EMPTY}, 3, false
+                        new byte[] { Cell.MINE, Cell.MINE, 3, Cell.EMPTY}, 3, false
                 )
         );
     }
 
     @ParameterizedTest
     @MethodSource("testHasUnexploredCellsArguments")
-    public void testHasUnexploredCells(int[] board, int size, boolean expected) {
+    public void testHasUnexploredCells(byte[] board, int size, boolean expected) {
         assertEquals(expected, Board.hasUnexploredCells(board, size));
     }
 
     private static List<Arguments> testGetFlagCountArguments() {
         return List.of(
                 Arguments.of(
-                    new int[] {Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.MINE_WITH_FLAG}, 3, 0
+                    new byte[] {Cell.EMPTY, Cell.EMPTY, Cell.EMPTY, Cell.MINE_WITH_FLAG}, 3, 0
                 ),
                 Arguments.of(
-                    new int[] {Cell.EMPTY, Cell.EMPTY, Cell.MINE_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 1
+                    new byte[] {Cell.EMPTY, Cell.EMPTY, Cell.MINE_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 1
                 ),
                 Arguments.of(
-                    new int[] {Cell.MINE_WITH_FLAG, Cell.EMPTY, Cell.EMPTY_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 2
+                    new byte[] {Cell.MINE_WITH_FLAG, Cell.EMPTY, Cell.EMPTY_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 2
                 ),
                 Arguments.of(
-                    new int[] {Cell.MINE_WITH_FLAG, 2, Cell.EMPTY_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 2
+                    new byte[] {Cell.MINE_WITH_FLAG, 2, Cell.EMPTY_WITH_FLAG, Cell.MINE_WITH_FLAG}, 3, 2
                 )
         );
     }
 
     @ParameterizedTest
     @MethodSource("testGetFlagCountArguments")
-    public void testGetFlagCount(int[] board, int size, int expected) {
+    public void testGetFlagCount(byte[] board, int size, int expected) {
         assertEquals(expected, Board.getFlagCount(board, size));
     }
+
+    private static List<Arguments> testInitializeArguments() {
+        return List.of(
+                Arguments.of(BoardSize.SMALL, 0),
+                Arguments.of(BoardSize.BIG, 255),
+                Arguments.of(new BoardSize(30, 24, 29 * 23), 719),
+                Arguments.of(new BoardSize(2000, 1000, 400_000), 1_000_500)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testInitializeArguments")
+    public void testInitialize(BoardSize boardSize, int center) {
+        var board = new Board();
+        board.setup(boardSize, Topology.RECTANGULAR);
+        board.initialize(center, SEED);
+
+        var mines = 0;
+        for (int x = 0; x < board.getSize(); x++) {
+            if (Cell.mine(board.getValue(x))) {
+                mines++;
+            }
+        }
+        assertEquals(boardSize.mines(), mines);
+
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, boardSize.width(), boardSize.height());
+        for (var x : Board.getCleanArea(adjacency, center)) {
+            if (x != MAX_VALUE) {
+                assertTrue(Cell.empty(board.getValue(x)));
+                assertFalse(Cell.mine(board.getValue(x)));
+            }
+        }
+        assertEquals(Cell.EMPTY, board.getValue(center));
+    }
+
+    private static List<Arguments> testPrecomputeArguments() {
+        var arguments = new ArrayList<Arguments>();
+        for (var topology : Topology.values()) {
+            arguments.add(Arguments.of(topology, BoardSize.BIG, 255));
+            arguments.add(Arguments.of(topology, new BoardSize(30, 24, 60), 0));
+            arguments.add(Arguments.of(topology, new BoardSize(2000, 1000, 150_000), 1_000_500));
+        }
+        return arguments;
+    }
+
+    @ParameterizedTest
+    @MethodSource("testPrecomputeArguments")
+    public void testPrecomputedNumbers(Topology topology, BoardSize boardSize, int center) {
+        var board = new Board();
+        board.setup(boardSize, topology);
+        board.initialize(center, SEED);
+
+        var adjacency = Adjacency.of(topology, boardSize.width(), boardSize.height());
+        var buffer = new int[Topology.MAX_NEIGHBOURS];
+        for (int x = 0; x < board.getSize(); x++) {
+            var value = board.getValue(x);
+            if (Cell.mine(value)) continue;
+
+            var expected = 0;
+            var count = adjacency.neighbours(x, buffer);
+            for (int i = 0; i < count; i++) {
+                if (Cell.mine(board.getValue(buffer[i]))) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, Cell.number(value));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testPrecomputeArguments")
+    public void testRevealOpensArea(Topology topology, BoardSize boardSize, int center) {
+        var board = new Board();
+        board.setup(boardSize, topology);
+        board.initialize(center, SEED);
+
+        var adjacency = Adjacency.of(topology, boardSize.width(), boardSize.height());
+        var expected = floodFill(adjacency, board, center);
+
+        var opened = new BitSet(board.getSize());
+        board.reveal(center, (x, _) -> {
+            assertFalse(opened.get(x));
+            opened.set(x);
+        });
+        assertEquals(expected, opened);
+
+        for (int x = 0; x < board.getSize(); x++) {
+            assertEquals(opened.get(x), Cell.isExplored(board.getValue(x)));
+        }
+    }
+
+    /**
+     * Reference reveal: breadth-first search from the cell.
+     */
+    private static BitSet floodFill(Adjacency adjacency, Board board, int start) {
+        var result = new BitSet(board.getSize());
+        var queue = new ArrayDeque<Integer>();
+        var buffer = new int[Topology.MAX_NEIGHBOURS];
+        result.set(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            var cell = queue.poll();
+            if (Cell.number(board.getValue(cell)) != 0) continue;
+
+            var count = adjacency.neighbours(cell, buffer);
+            for (int i = 0; i < count; i++) {
+                if (!result.get(buffer[i])) {
+                    result.set(buffer[i]);
+                    queue.add(buffer[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @MethodSource("testInitializeArguments")
+    public void testInitializeIsReproducible(BoardSize boardSize, int center) {
+        var first = new Board();
+        first.setup(boardSize, Topology.RECTANGULAR);
+        first.initialize(center, SEED);
+
+        var second = new Board();
+        second.setup(boardSize, Topology.RECTANGULAR);
+        second.initialize(center, SEED);
+
+        var other = new Board();
+        other.setup(boardSize, Topology.RECTANGULAR);
+        other.initialize(center, SEED + 1);
+
+        var different = false;
+        for (int x = 0; x < first.getSize(); x++) {
+            assertEquals(first.getValue(x), second.getValue(x));
+            different |= first.getValue(x) != other.getValue(x);
+        }
+        assertTrue(different);
+    }
 }
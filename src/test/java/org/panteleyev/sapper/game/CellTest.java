@@ -34,7 +34,8 @@ public class CellTest {
                 Arguments.of(Cell.EMPTY, Cell.EMPTY_WITH_FLAG),
                 Arguments.of(Cell.MINE, Cell.MINE_WITH_FLAG),
                 Arguments.of(Cell.EMPTY_WITH_FLAG, Cell.EMPTY),
-                Arguments.of(Cell.MINE_WITH_FLAG, Cell.MINE)
+                Arguments.of(Cell.MINE_WITH_FLAG, Cell.MINE),
+                Arguments.of(Cell.EMPTY | 3, Cell.EMPTY_WITH_FLAG | 3)
         );
     }
 
@@ -57,4 +58,20 @@ public class CellTest {
     public void testPutMine(int value, int expected) {
         assertEquals(expected, Cell.putMine(value));
     }
+
+    private static List<Arguments> testEmptyWithFlagArguments() {
+        return List.of(
+                Arguments.of(Cell.EMPTY, false),
+                Arguments.of(Cell.EMPTY_WITH_FLAG, true),
+                Arguments.of(Cell.EMPTY_WITH_FLAG | 8, true),
+                Arguments.of(Cell.MINE_WITH_FLAG, false),
+                Arguments.of(8, false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("testEmptyWithFlagArguments")
+    public void testEmptyWithFlag(int value, boolean expected) {
+        assertEquals(expected, Cell.emptyWithFlag(value));
+    }
 }
@@ -0,0 +1,67 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirtyCellsTest {
+    @Test
+    public void testRepeatedChangesCollapse() {
+        var dirtyCells = new DirtyCells();
+        dirtyCells.add(5);
+        dirtyCells.add(100_000);
+        dirtyCells.add(5);
+        dirtyCells.onCellChanged(0, 3);
+        dirtyCells.onCellChanged(100_000, 3);
+        assertEquals(3, dirtyCells.size());
+
+        var drained = new ArrayList<Integer>();
+        dirtyCells.drain(drained::add);
+        assertEquals(List.of(5, 100_000, 0), drained);
+        assertTrue(dirtyCells.isEmpty());
+
+        dirtyCells.add(5);
+        assertEquals(1, dirtyCells.size());
+        dirtyCells.clear();
+        assertTrue(dirtyCells.isEmpty());
+    }
+
+    @Test
+    public void testContains() {
+        var dirtyCells = new DirtyCells();
+        assertFalse(dirtyCells.contains(5));
+
+        dirtyCells.add(5);
+        assertTrue(dirtyCells.contains(5));
+        assertFalse(dirtyCells.contains(6));
+        assertFalse(dirtyCells.contains(100_000));
+
+        dirtyCells.drain(_ -> {});
+        assertFalse(dirtyCells.contains(5));
+    }
+
+    @Test
+    public void testGameReveal() {
+        var dirtyCells = new DirtyCells();
+        var opened = new BitSet();
+        var game = new Game(dirtyCells, (_, _) -> {});
+        game.newGame(new BoardSize(30, 24, 20), Topology.RECTANGULAR, 1L);
+        game.processHit(0);
+
+        dirtyCells.drain(x -> {
+            assertTrue(Cell.isExplored(game.getValue(x)));
+            opened.set(x);
+        });
+        for (int x = 0; x < game.getSize(); x++) {
+            assertEquals(Cell.isExplored(game.getValue(x)), opened.get(x));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GameEventsTest {
+    @Test
+    public void testEvents() throws IOException {
+        var changes = new AtomicInteger();
+        var game = new Game((_, _) -> changes.incrementAndGet(), (_, _) -> {});
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(BoardGenerationEvent.class);
+            recording.enable(RevealEvent.class);
+            recording.enable(GameStatusEvent.class);
+            recording.start();
+
+            game.newGame(BoardSize.BIG, Topology.RECTANGULAR, 1L);
+            game.processHit(0);
+            recording.stop();
+
+            var file = Files.createTempFile("sapper", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        var generation = single(events, "org.panteleyev.sapper.BoardGeneration");
+        assertEquals(BoardSize.BIG.width(), generation.getInt("width"));
+        assertEquals(BoardSize.BIG.mines(), generation.getInt("mines"));
+        assertEquals(1L, generation.getLong("seed"));
+
+        var reveal = single(events, "org.panteleyev.sapper.Reveal");
+        assertEquals(0, reveal.getInt("cell"));
+        assertEquals(changes.get(), reveal.getInt("cells"));
+
+        var status = single(events, "org.panteleyev.sapper.GameStatus");
+        assertEquals(GameStatus.IN_PROGRESS.name(), status.getString("status"));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var found = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, found.size(), name);
+        return found.getFirst();
+    }
+}
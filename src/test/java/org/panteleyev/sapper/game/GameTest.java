@@ -0,0 +1,176 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class GameTest {
+    private static List<Arguments> testCountersArguments() {
+        var arguments = new ArrayList<Arguments>();
+        for (var engine : Engine.values()) {
+            arguments.add(Arguments.of(engine, BoardSize.SMALL, 1L));
+            arguments.add(Arguments.of(engine, BoardSize.MEDIUM, 2L));
+            arguments.add(Arguments.of(engine, BoardSize.BIG, 3L));
+            arguments.add(Arguments.of(engine, new BoardSize(30, 24, 200), 4L));
+        }
+        return arguments;
+    }
+
+    @ParameterizedTest
+    @MethodSource("testCountersArguments")
+    public void testCounters(Engine engine, BoardSize boardSize, long seed) {
+        var random = new Random(seed);
+        var game = new Game(engine, (_, _) -> {}, (_, _) -> {});
+        game.newGame(boardSize);
+
+        while (!game.getGameStatus().isFinal()) {
+            var x = random.nextInt(game.getSize());
+            var value = game.getValue(x);
+            if (Cell.isExplored(value)) continue;
+
+            if (game.getGameStatus() != GameStatus.INITIAL && random.nextInt(4) == 0) {
+                game.toggleFlag(x);
+            } else if (!Cell.mine(value) || random.nextInt(8) == 0) {
+                game.processHit(x);
+            }
+
+            var cells = new byte[game.getSize()];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = (byte) game.getValue(i);
+            }
+            assertEquals(boardSize.mines() - Board.getFlagCount(cells, cells.length), game.getRemainingMines());
+            if (game.getGameStatus() == GameStatus.IN_PROGRESS) {
+                assertTrue(Board.hasUnexploredCells(cells, cells.length));
+            }
+        }
+
+        if (game.getGameStatus() == GameStatus.SUCCESS) {
+            for (int i = 0; i < game.getSize(); i++) {
+                assertEquals(Cell.mine(game.getValue(i)), !Cell.isExplored(game.getValue(i)));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("testEngineArguments")
+    public void testProcessHits(Engine engine) {
+        var statuses = new ArrayList<GameStatus>();
+        var game = new Game(engine, (_, _) -> {}, (_, status) -> statuses.add(status));
+        game.newGame(BoardSize.BIG, Topology.RECTANGULAR, 5L);
+        game.processHit(0);
+
+        var safe = new ArrayList<Integer>();
+        for (int x = 0; x < game.getSize(); x++) {
+            if (!Cell.mine(game.getValue(x))) {
+                safe.add(x);
+            }
+        }
+        game.processHits(safe.stream().mapToInt(Integer::intValue).toArray());
+
+        assertEquals(List.of(GameStatus.IN_PROGRESS, GameStatus.SUCCESS), statuses);
+    }
+
+    @ParameterizedTest
+    @MethodSource("testEngineArguments")
+    public void testProcessHitsStopsAtMine(Engine engine) {
+        var statuses = new ArrayList<GameStatus>();
+        var game = new Game(engine, (_, _) -> {}, (_, status) -> statuses.add(status));
+        game.newGame(BoardSize.BIG, Topology.RECTANGULAR, 6L);
+        game.processHit(0);
+
+        var mine = 0;
+        var safe = 0;
+        for (int x = 0; x < game.getSize(); x++) {
+            if (Cell.mine(game.getValue(x))) {
+                mine = x;
+            } else if (!Cell.isExplored(game.getValue(x))) {
+                safe = x;
+            }
+        }
+        game.processHits(mine, safe);
+
+        assertEquals(List.of(GameStatus.IN_PROGRESS, GameStatus.FAILURE), statuses);
+        assertFalse(Cell.isExplored(game.getValue(safe)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("testEngineArguments")
+    public void testChord(Engine engine) {
+        var game = new Game(engine, (_, _) -> {}, (_, _) -> {});
+        game.newGame(BoardSize.BIG, Topology.RECTANGULAR, 7L);
+        game.processHit(0);
+
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, BoardSize.BIG.width(), BoardSize.BIG.height());
+        var neighbours = new int[Topology.MAX_NEIGHBOURS];
+        var chorded = 0;
+        for (int x = 0; x < game.getSize() && game.getGameStatus() == GameStatus.IN_PROGRESS; x++) {
+            var value = game.getValue(x);
+            if (!Cell.isExplored(value) || value == 0) continue;
+
+            var count = adjacency.neighbours(x, neighbours);
+            var unflagged = false;
+            for (int i = 0; i < count; i++) {
+                var neighbourValue = game.getValue(neighbours[i]);
+                if (Cell.mine(neighbourValue) && !Cell.flag(neighbourValue)) {
+                    game.toggleFlag(neighbours[i]);
+                }
+                unflagged |= !Cell.isExplored(neighbourValue) && !Cell.mine(neighbourValue);
+            }
+            if (!unflagged) continue;
+
+            game.chord(x);
+            chorded++;
+            for (int i = 0; i < count; i++) {
+                var neighbourValue = game.getValue(neighbours[i]);
+                assertTrue(Cell.isExplored(neighbourValue) || Cell.mine(neighbourValue));
+            }
+        }
+        assertTrue(chorded > 0);
+        assertNotEquals(GameStatus.FAILURE, game.getGameStatus());
+    }
+
+    @ParameterizedTest
+    @MethodSource("testEngineArguments")
+    public void testChordWithWrongFlag(Engine engine) {
+        var statuses = new ArrayList<GameStatus>();
+        var game = new Game(engine, (_, _) -> {}, (_, status) -> statuses.add(status));
+        game.newGame(BoardSize.BIG, Topology.RECTANGULAR, 8L);
+        game.processHit(0);
+
+        var adjacency = Adjacency.of(Topology.RECTANGULAR, BoardSize.BIG.width(), BoardSize.BIG.height());
+        var neighbours = new int[Topology.MAX_NEIGHBOURS];
+        for (int x = 0; x < game.getSize(); x++) {
+            if (game.getValue(x) != 1) continue;
+
+            // Flag a safe neighbour instead of the mine
+            var count = adjacency.neighbours(x, neighbours);
+            for (int i = 0; i < count; i++) {
+                var value = game.getValue(neighbours[i]);
+                if (!Cell.isExplored(value) && !Cell.mine(value)) {
+                    game.toggleFlag(neighbours[i]);
+                    game.chord(x);
+                    assertEquals(List.of(GameStatus.IN_PROGRESS, GameStatus.FAILURE), statuses);
+                    return;
+                }
+            }
+        }
+        fail("No cell to chord");
+    }
+
+    private static List<Arguments> testEngineArguments() {
+        return Arrays.stream(Engine.values()).map(Arguments::of).toList();
+    }
+}
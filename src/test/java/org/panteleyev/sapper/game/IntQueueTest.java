@@ -0,0 +1,40 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntQueueTest {
+    @Test
+    public void testWrapAndGrow() {
+        var queue = new IntQueue(4);
+        var next = 0;
+        var expected = 0;
+        // Head moves around the buffer before it has to grow
+        for (int round = 0; round < 3; round++) {
+            queue.add(next++);
+            queue.add(next++);
+            queue.add(next++);
+            assertEquals(expected++, queue.poll());
+            assertEquals(expected++, queue.poll());
+        }
+        for (int i = 0; i < 10; i++) {
+            queue.add(next++);
+        }
+        while (!queue.isEmpty()) {
+            assertEquals(expected++, queue.poll());
+        }
+        assertEquals(next, expected);
+
+        queue.add(1);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        queue.add(2);
+        assertFalse(queue.isEmpty());
+        assertEquals(2, queue.poll());
+    }
+}
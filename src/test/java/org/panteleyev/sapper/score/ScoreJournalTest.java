@@ -0,0 +1,258 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.score;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.panteleyev.sapper.game.BoardSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoreJournalTest {
+    private static final int THRESHOLD = 20;
+
+    @TempDir
+    private Path directory;
+
+    private ScoreJournal journal() {
+        return new ScoreJournal(directory.resolve("scores.journal"), directory.resolve("scores.snapshot"), THRESHOLD);
+    }
+
+    private static GameScore score(BoardSize boardSize, int millis) {
+        return new GameScore(boardSize, LocalDate.of(2026, 1, 1).plusDays(millis), Duration.ofMillis(millis));
+    }
+
+    private static List<GameScore> read(ScoreJournal journal) throws IOException {
+        var scores = new ArrayList<GameScore>();
+        journal.read(scores::add);
+        return scores;
+    }
+
+    private static List<GameScore> sorted(List<GameScore> scores) {
+        return scores.stream().sorted(Comparator.comparing(GameScore::time)).toList();
+    }
+
+    @Test
+    public void testAppendRead() throws IOException {
+        var expected = List.of(
+                score(BoardSize.SMALL, 5000),
+                score(BoardSize.MEDIUM, 1234),
+                score(new BoardSize(5000, 5000, 1_000_000), 86_400_000)
+        );
+
+        var journal = journal();
+        assertFalse(journal.exists());
+        for (var score : expected) {
+            assertFalse(journal.append(score));
+        }
+
+        assertTrue(journal.exists());
+        assertEquals(Files.size(directory.resolve("scores.journal")), journal.size());
+        assertEquals(expected, read(journal()));
+    }
+
+    @Test
+    public void testDamagedTail() throws IOException {
+        var journal = journal();
+        journal.append(score(BoardSize.SMALL, 1));
+        journal.append(score(BoardSize.SMALL, 2));
+        journal.append(score(BoardSize.SMALL, 3));
+
+        // Damage the last record and leave a partial record after it
+        var file = directory.resolve("scores.journal");
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 10] ^= 1;
+        Files.write(file, bytes);
+        Files.write(file, new byte[ScoreJournal.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        journal = journal();
+        assertEquals(List.of(score(BoardSize.SMALL, 1), score(BoardSize.SMALL, 2)), read(journal));
+
+        journal.append(score(BoardSize.SMALL, 4));
+        assertEquals(List.of(score(BoardSize.SMALL, 1), score(BoardSize.SMALL, 2), score(BoardSize.SMALL, 4)),
+                read(journal()));
+    }
+
+    @Test
+    public void testDamagedHeaders() throws IOException {
+        var journal = journal();
+        journal.replace(List.of(score(BoardSize.SMALL, 1)));
+        journal.append(score(BoardSize.SMALL, 2));
+
+        // Damaged snapshot is moved aside, scores of the journal are kept
+        var snapshot = directory.resolve("scores.snapshot");
+        var damagedSnapshot = new byte[ScoreJournal.RECORD_SIZE];
+        Files.write(snapshot, damagedSnapshot);
+        assertEquals(List.of(score(BoardSize.SMALL, 2)), read(journal()));
+        assertFalse(Files.exists(snapshot));
+        assertArrayEquals(damagedSnapshot, Files.readAllBytes(directory.resolve("scores.snapshot.corrupt")));
+
+        // Damaged journal is moved aside, the next append starts a new one
+        var file = directory.resolve("scores.journal");
+        var damagedJournal = new byte[ScoreJournal.RECORD_SIZE * 2];
+        Files.write(file, damagedJournal);
+        journal = journal();
+        assertEquals(List.of(), read(journal));
+        assertArrayEquals(damagedJournal, Files.readAllBytes(directory.resolve("scores.journal.corrupt")));
+
+        journal.append(score(BoardSize.SMALL, 3));
+        assertEquals(List.of(score(BoardSize.SMALL, 3)), read(journal()));
+
+        // Names of earlier damaged files are not reused
+        Files.write(file, damagedJournal);
+        assertEquals(List.of(), read(journal()));
+        assertTrue(Files.exists(directory.resolve("scores.journal.1.corrupt")));
+    }
+
+    @Test
+    public void testDamagedRecordIsKept() throws IOException {
+        var journal = journal();
+        for (int i = 1; i <= 3; i++) {
+            journal.append(score(BoardSize.SMALL, i));
+        }
+
+        // Records after the damaged one are not an interrupted append
+        var file = directory.resolve("scores.journal");
+        var bytes = Files.readAllBytes(file);
+        bytes[bytes.length - ScoreJournal.RECORD_SIZE - 10] ^= 1;
+        Files.write(file, bytes);
+
+        journal = journal();
+        assertEquals(List.of(score(BoardSize.SMALL, 1)), read(journal));
+        read(journal);
+        journal.append(score(BoardSize.SMALL, 4));
+
+        assertArrayEquals(bytes, Files.readAllBytes(directory.resolve("scores.journal.corrupt")));
+        assertFalse(Files.exists(directory.resolve("scores.journal.1.corrupt")));
+        assertEquals(List.of(score(BoardSize.SMALL, 1), score(BoardSize.SMALL, 4)), read(journal()));
+    }
+
+    @Test
+    public void testUnknownVersion() throws IOException {
+        var journal = journal();
+        journal.replace(List.of(score(BoardSize.SMALL, 1)));
+        journal.append(score(BoardSize.SMALL, 2));
+
+        // Journal written by a newer build
+        var file = directory.resolve("scores.journal");
+        var bytes = Files.readAllBytes(file);
+        bytes[3] = '2';
+        Files.write(file, bytes);
+        var snapshot = Files.readAllBytes(directory.resolve("scores.snapshot"));
+
+        var newer = journal();
+        assertThrows(IOException.class, () -> read(newer));
+        assertThrows(IOException.class, () -> newer.append(score(BoardSize.SMALL, 3)));
+        assertThrows(IOException.class, () -> newer.replace(List.of()));
+        assertThrows(IOException.class, () -> journal().append(score(BoardSize.SMALL, 3)));
+
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+        assertArrayEquals(snapshot, Files.readAllBytes(directory.resolve("scores.snapshot")));
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        var scoreboard = new Scoreboard();
+        var journal = journal();
+        var compact = false;
+        for (int i = 0; i < THRESHOLD; i++) {
+            var score = score(i % 2 == 0 ? BoardSize.SMALL : BoardSize.BIG, THRESHOLD - i);
+            scoreboard.add(score);
+            compact = journal.append(score);
+        }
+        assertTrue(compact);
+
+        journal.compact();
+        assertFalse(Files.exists(directory.resolve("scores.journal")));
+        assertEquals(Files.size(directory.resolve("scores.snapshot")), journal.size());
+
+        var loaded = new Scoreboard(journal());
+        loaded.load(journal());
+        for (var boardSize : BoardSize.STANDARD_SIZES) {
+            assertEquals(sorted(scoreboard.getScores(boardSize)), sorted(loaded.getScores(boardSize)));
+        }
+
+        // Journal is started again after compaction
+        journal.append(score(BoardSize.MEDIUM, 1));
+        assertEquals(scoreboard.getAllScores().size() + 1, read(journal()).size());
+    }
+
+    @Test
+    public void testInterruptedCompaction() throws IOException {
+        var journal = journal();
+        for (int i = 0; i < THRESHOLD; i++) {
+            journal.append(score(BoardSize.MEDIUM, 100 + i));
+        }
+        var file = directory.resolve("scores.journal");
+        var copy = directory.resolve("copy");
+        Files.copy(file, copy);
+
+        journal.compact();
+        // Journal is not removed after the snapshot is written
+        Files.move(copy, file, StandardCopyOption.REPLACE_EXISTING);
+
+        journal = journal();
+        assertEquals(10, read(journal).size());
+
+        journal.append(score(BoardSize.MEDIUM, 1));
+        var scores = read(journal());
+        assertEquals(11, scores.size());
+        assertEquals(score(BoardSize.MEDIUM, 1), scores.getLast());
+    }
+
+    @Test
+    public void testReplace() throws IOException {
+        var journal = journal();
+        journal.append(score(BoardSize.SMALL, 1));
+        journal.replace(List.of(score(BoardSize.BIG, 2)));
+        journal.append(score(BoardSize.BIG, 3));
+
+        assertEquals(List.of(score(BoardSize.BIG, 2), score(BoardSize.BIG, 3)), read(journal()));
+    }
+
+    @Test
+    public void testXmlMigration() throws IOException {
+        var xml = new Scoreboard();
+        xml.add(score(BoardSize.SMALL, 1000));
+        xml.add(score(BoardSize.MEDIUM, 2000));
+        var out = new ByteArrayOutputStream();
+        xml.save(out);
+
+        var scoreboard = new Scoreboard(journal());
+        scoreboard.load(new ByteArrayInputStream(out.toByteArray()));
+        scoreboard.save();
+        scoreboard.save(score(BoardSize.SMALL, 500));
+
+        var loaded = new Scoreboard(journal());
+        loaded.load(journal());
+        assertEquals(List.of(score(BoardSize.SMALL, 500), score(BoardSize.SMALL, 1000)),
+                sorted(loaded.getScores(BoardSize.SMALL)));
+        assertEquals(List.of(score(BoardSize.MEDIUM, 2000)), loaded.getScores(BoardSize.MEDIUM));
+    }
+
+    @Test
+    public void testRecordSize() throws IOException {
+        var journal = journal();
+        journal.append(score(BoardSize.SMALL, 1));
+        var size = journal.size();
+        journal.append(score(BoardSize.SMALL, 2));
+        assertEquals(size + ScoreJournal.RECORD_SIZE, journal.size());
+    }
+}
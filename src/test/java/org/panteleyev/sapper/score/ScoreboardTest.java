@@ -0,0 +1,90 @@
+// Copyright © 2026 Petr Panteleyev
+// SPDX-License-Identifier: BSD-2-Clause
+package org.panteleyev.sapper.score;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.panteleyev.sapper.game.BoardSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScoreboardTest {
+    @TempDir
+    private Path directory;
+
+    private ScoreJournal journal() {
+        return new ScoreJournal(directory.resolve("scores.journal"), directory.resolve("scores.snapshot"));
+    }
+
+    @Test
+    public void testDamagedScoresAreKept() throws IOException {
+        var snapshot = new byte[32];
+        var journal = new byte[]{1, 2, 3};
+        Files.write(directory.resolve("scores.snapshot"), snapshot);
+        Files.write(directory.resolve("scores.journal"), journal);
+
+        var scoreboard = new Scoreboard(journal());
+        scoreboard.load();
+        assertTrue(scoreboard.getAllScores().isEmpty());
+        assertArrayEquals(snapshot, Files.readAllBytes(directory.resolve("scores.snapshot.corrupt")));
+        assertArrayEquals(journal, Files.readAllBytes(directory.resolve("scores.journal.corrupt")));
+
+        var score = new GameScore(BoardSize.SMALL, LocalDate.of(2026, 1, 1), Duration.ofMillis(1234));
+        scoreboard.add(score);
+        scoreboard.save(score);
+
+        var loaded = new Scoreboard(journal());
+        loaded.load();
+        assertEquals(List.of(score), loaded.getScores(BoardSize.SMALL));
+        assertTrue(Files.exists(directory.resolve("scores.snapshot.corrupt")));
+        assertTrue(Files.exists(directory.resolve("scores.journal.corrupt")));
+    }
+
+    @Test
+    public void testSaveFailureIsNotThrown() throws IOException {
+        // Directory in place of the journal file
+        Files.createDirectories(directory.resolve("scores.journal"));
+        var scoreboard = new Scoreboard(journal());
+        var score = new GameScore(BoardSize.SMALL, LocalDate.of(2026, 1, 1), Duration.ofMillis(1234));
+        scoreboard.add(score);
+        scoreboard.save(score);
+        assertEquals(List.of(score), scoreboard.getScores(BoardSize.SMALL));
+    }
+
+    @Test
+    public void testUnreadableScoresAreNotOverwritten() throws IOException {
+        var score = new GameScore(BoardSize.SMALL, LocalDate.of(2026, 1, 1), Duration.ofMillis(1234));
+        var stored = new Scoreboard(journal());
+        stored.add(score);
+        stored.save();
+        stored.save(score);
+
+        // Written by a newer build
+        var file = directory.resolve("scores.journal");
+        var bytes = Files.readAllBytes(file);
+        bytes[3] = '2';
+        Files.write(file, bytes);
+        var snapshot = Files.readAllBytes(directory.resolve("scores.snapshot"));
+
+        var scoreboard = new Scoreboard(journal());
+        scoreboard.load();
+        assertTrue(scoreboard.getAllScores().isEmpty());
+
+        scoreboard.add(score);
+        scoreboard.save(score);
+        assertThrows(IllegalStateException.class, scoreboard::save);
+
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+        assertArrayEquals(snapshot, Files.readAllBytes(directory.resolve("scores.snapshot")));
+    }
+}